@@ -146,4 +146,82 @@ describe('RocketsComponent', () => {
     expect(comp.loading()).toBe(false);
     expect(comp.error()).toContain('Failed to load rockets');
   });
+
+  it('showAllLaunchData should fetch every rocket\'s launches in one request', () => {
+    const fixture = TestBed.createComponent(RocketsComponent);
+    const comp = fixture.componentInstance as any;
+
+    comp.rocketsSig.set([
+      { id: 'r1', name: 'Falcon 9' },
+      { id: 'r2', name: 'Starship' },
+    ]);
+    comp.showAllLaunchData();
+
+    const req = httpMock.expectOne('/api/launches?rocketIds=r1,r2');
+    expect(req.request.method).toBe('GET');
+    req.flush({
+      r1: [{ id: 'a', name: 'L-1', rocket: 'r1', date: 'Jan 02, 2022' }],
+      r2: [{ id: 'b', name: 'L-2', rocket: 'r2', date: 'Dec 31, 2021' }],
+    });
+
+    expect(comp.processedLaunches().map((l: Record<string, unknown>) => l['rocket']))
+      .toEqual(['Falcon 9', 'Starship']);
+  });
+
+  it('should patch rockets from a pushed rockets diff', () => {
+    const fixture = TestBed.createComponent(RocketsComponent);
+    const comp = fixture.componentInstance as any;
+
+    comp.rocketsSig.set([
+      { id: 'r1', name: 'Falcon 1', successRatePct: 40 },
+      { id: 'r2', name: 'Falcon 9', successRatePct: 98 },
+    ]);
+    comp.applyRocketsUpdate({
+      upserted: [{ id: 'r2', name: 'Falcon 9', successRatePct: 99 }, { id: 'r3', name: 'Starship' }],
+      removed: ['r1'],
+    });
+
+    expect(comp.rockets().map((r: Record<string, unknown>) => r['id'])).toEqual(['r2', 'r3']);
+    expect(comp.rockets()[0]['successRatePct']).toBe(99);
+  });
+
+  it('should replace only the launches of displayed rockets from a pushed launches diff', () => {
+    const fixture = TestBed.createComponent(RocketsComponent);
+    const comp = fixture.componentInstance as any;
+
+    comp.rocketsSig.set([
+      { id: 'r1', name: 'Falcon 9' },
+      { id: 'r2', name: 'Starship' },
+    ]);
+    comp.showAllLaunchData();
+    httpMock.expectOne('/api/launches?rocketIds=r1,r2').flush({
+      r1: [{ id: 'a', name: 'L-1', rocket: 'r1', date: 'Jan 02, 2022' }],
+      r2: [{ id: 'b', name: 'L-2', rocket: 'r2', date: 'Dec 31, 2021' }],
+    });
+
+    comp.applyLaunchesUpdate({
+      rockets: {
+        r2: [{ id: 'b', name: 'L-2', rocket: 'r2', date: 'Jan 01, 2022' }, { id: 'c', name: 'L-3', rocket: 'r2', date: '' }],
+        r9: [{ id: 'z', name: 'Other', rocket: 'r9', date: '' }],
+      },
+      reload: false,
+    });
+
+    expect(comp.processedLaunches().map((l: Record<string, unknown>) => l['id'])).toEqual(['a', 'b', 'c']);
+    expect(comp.processedLaunches()[1]['date']).toBe('Jan 01, 2022');
+    expect(comp.processedLaunches()[2]['rocket']).toBe('Starship');
+  });
+
+  it('should refetch the displayed launches when the server asks for a reload', () => {
+    const fixture = TestBed.createComponent(RocketsComponent);
+    const comp = fixture.componentInstance as any;
+
+    comp.showLaunchData('r1', 'Falcon 9');
+    httpMock.expectOne('/api/launches/id/r1').flush([{ id: 'a', name: 'L-1', rocket: 'r1', date: '' }]);
+
+    comp.applyLaunchesUpdate({ rockets: {}, reload: true });
+
+    httpMock.expectOne('/api/launches/id/r1').flush([]);
+    expect(comp.launches().length).toBe(0);
+  });
 });
@@ -1,4 +1,4 @@
-import { ChangeDetectionStrategy, Component, OnInit, computed, inject, signal } from '@angular/core';
+import { ChangeDetectionStrategy, Component, DestroyRef, OnInit, computed, inject, signal } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { HttpClient } from '@angular/common/http';
 
@@ -12,6 +12,7 @@ import { HttpClient } from '@angular/common/http';
 /**
  * Component responsible for displaying and managing SpaceX rocket and launch data.
  * Handles data fetching, sorting, and display of rocket information and their associated launches.
+ * Displayed data is kept current by patching it from the server's /api/updates event stream.
  */
 export class RocketsComponent implements OnInit {
   loading = signal(true);
@@ -23,6 +24,10 @@ export class RocketsComponent implements OnInit {
   readonly columns = signal<string[]>(['name', 'id', 'active', 'successRatePct', 'showLaunch']);
   readonly launchColumns = signal<string[]>(['rocket', 'name', 'id', 'date']);
   private readonly http = inject(HttpClient);
+  private readonly destroyRef = inject(DestroyRef);
+  /** Rockets whose launches are displayed, id to name, and whether they were loaded one at a time or all at once. */
+  private readonly shownRockets = new Map<string, unknown>();
+  private launchesView: 'one' | 'all' | null = null;
   readonly sortColumn = signal<string | null>(null);
   readonly sortDir = signal<'asc' | 'desc'>('asc');
 
@@ -61,6 +66,66 @@ export class RocketsComponent implements OnInit {
         this.loading.set(false);
       }
     });
+    this.subscribeToUpdates();
+  }
+
+  /**
+   * Subscribes to the server's snapshot update stream. The server pushes diffs when its data changes,
+   * so nothing is polled; EventSource reconnects by itself after a dropped connection.
+   */
+  private subscribeToUpdates(): void {
+    if (typeof EventSource === 'undefined') return;
+    const updates = new EventSource('/api/updates');
+    updates.addEventListener('rockets', e => this.applyRocketsUpdate(JSON.parse((e as MessageEvent).data)));
+    updates.addEventListener('launches', e => this.applyLaunchesUpdate(JSON.parse((e as MessageEvent).data)));
+    this.destroyRef.onDestroy(() => updates.close());
+  }
+
+  /**
+   * Patches the rockets table: changed rockets are replaced in place, new ones appended and removed ones dropped.
+   * @param update - The rockets diff pushed by the server
+   */
+  private applyRocketsUpdate(update: { upserted?: Record<string, unknown>[]; removed?: string[] }): void {
+    const removed = new Set(update.removed ?? []);
+    const upserted = new Map((update.upserted ?? []).map(r => [String(r['id']), r]));
+    this.rocketsSig.update(rows => {
+      const patched = rows
+        .filter(r => !removed.has(String(r['id'])))
+        .map(r => {
+          const id = String(r['id']);
+          const changed = upserted.get(id);
+          upserted.delete(id);
+          return changed ?? r;
+        });
+      return [...patched, ...upserted.values()];
+    });
+  }
+
+  /**
+   * Patches the launches table: the launches of each displayed rocket in the diff are replaced.
+   * When the server cannot tell which rockets changed, the displayed launches are fetched again.
+   * @param update - The launches diff pushed by the server
+   */
+  private applyLaunchesUpdate(update: { rockets?: Record<string, Record<string, unknown>[]>; reload?: boolean }): void {
+    if (this.launchesView === null) return;
+    if (update.reload) {
+      const [id, name] = [...this.shownRockets.entries()][0] ?? [];
+      if (this.launchesView === 'one') {
+        this.showLaunchData(id, name);
+      } else {
+        this.showAllLaunchData();
+      }
+      return;
+    }
+    const changed = Object.entries(update.rockets ?? {}).filter(([id]) => this.shownRockets.has(id));
+    if (changed.length === 0) return;
+    const changedIds = new Set(changed.map(([id]) => id));
+    this.launchesSig.update(rows => [
+      // A single rocket without launches is shown as one placeholder row with an empty id
+      ...rows.filter(l => !changedIds.has(String(l['rocket'])) && !(this.launchesView === 'one' && l['id'] === '')),
+      ...changed.flatMap(([id, launches]) =>
+        launches.map(launch => ({...launch, rocket_name: this.shownRockets.get(id)}))),
+    ]);
   }
 
   /**
@@ -78,6 +143,9 @@ export class RocketsComponent implements OnInit {
           ? data.map(launch => ({...launch, rocket_name}))
           : [];
         this.launchesSig.set(launchesWithRocketName);
+        this.shownRockets.clear();
+        this.shownRockets.set(String(id), rocket_name);
+        this.launchesView = 'one';
         this.loading.set(false);
       },
       error: (err) => {
@@ -93,6 +161,39 @@ export class RocketsComponent implements OnInit {
     });
   }
 
+  /**
+   * Fetches and displays launch data for every listed rocket with a single batch request.
+   */
+  showAllLaunchData(): void {
+    const names = new Map(this.rocketsSig().map(r => [String(r['id']), r['name']]));
+    if (names.size === 0) return;
+    const url = `/api/launches?rocketIds=${[...names.keys()].join(',')}`;
+    this.http.get<Record<string, Record<string, unknown>[]>>(url).subscribe({
+      next: (data) => {
+        const launchesWithRocketName = Object.entries(data ?? {}).flatMap(([rocketId, launches]) =>
+          Array.isArray(launches)
+            ? launches.map(launch => ({...launch, rocket_name: names.get(rocketId)}))
+            : []
+        );
+        this.launchesSig.set(launchesWithRocketName);
+        this.shownRockets.clear();
+        names.forEach((name, id) => this.shownRockets.set(id, name));
+        this.launchesView = 'all';
+        this.loading.set(false);
+      },
+      error: (err) => {
+        const status = (err?.status as number | undefined) ?? 0;
+        const statusText = (err?.statusText as string | undefined) ?? 'Unknown Error';
+        const detail = typeof err?.error === 'string'
+          ? err.error
+          : (err?.message as string | undefined) ?? '';
+        console.error('[RocketsComponent] HTTP error when fetching launches', err);
+        this.error.set(`Failed to load launches from ${url} (${status} ${statusText})${detail ? ': ' + detail : ''}`);
+        this.loading.set(false);
+      }
+    });
+  }
+
   /**
    * Handles click events on rocket table headers for sorting.
    * @param col - The column name to sort by
@@ -0,0 +1,36 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Loads the recorded SpaceX API payloads shared by the benchmarks.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+final class Fixtures {
+    static final String FALCON_9 = "5e9d0d95eda69973a809d1ec";
+
+    private Fixtures() {
+    }
+
+    /**
+     * Reads a fixture from {@code src/test/resources/fixtures}.
+     *
+     * @param name the file name, e.g. {@code v4-launches.json}
+     * @return the raw payload
+     */
+    static byte[] load(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
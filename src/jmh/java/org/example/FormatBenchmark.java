@@ -0,0 +1,121 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.LaunchesController.LaunchDTO;
+import org.example.RocketsController.RocketDTO;
+
+/**
+ * Compares the negotiable response formats on the recorded fixtures: serialize and deserialize
+ * throughput per format, with the payload size of each format printed at setup.
+ * JSON, CBOR and Smile use the Jackson 3 mappers behind Spring MVC; MessagePack uses the Jackson 2 mapper
+ * behind {@link MessagePackHttpMessageConverter}.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatBenchmark {
+    /**
+     * Writes and reads one format.
+     */
+    private interface Codec {
+        byte[] write(Object value) throws IOException;
+
+        <T> T read(byte[] bytes, Class<T> type) throws IOException;
+    }
+
+    @Param({"json", "cbor", "smile", "msgpack"})
+    public String format;
+
+    private Codec codec;
+    private List<RocketDTO> rockets;
+    private List<LaunchDTO> launches;
+    private byte[] rocketsBytes;
+    private byte[] launchesBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        codec = switch (format) {
+            case "json" -> jackson3(JsonMapper.builder().build());
+            case "cbor" -> jackson3(CBORMapper.builder().build());
+            case "smile" -> jackson3(SmileMapper.builder().build());
+            case "msgpack" -> jackson2(new ObjectMapper(new MessagePackFactory()));
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        rockets = RocketsController.getRocketsDTO(RocketsController.parseRockets(
+                new String(Fixtures.load("v4-rockets.json"), StandardCharsets.UTF_8)));
+        // Every launch, the largest list any endpoint returns
+        launches = SpaceXJsonReader.readLaunches(new ByteArrayInputStream(Fixtures.load("v4-launches.json")))
+                .stream().map(LaunchStore::toDTO).toList();
+        rocketsBytes = codec.write(rockets);
+        launchesBytes = codec.write(launches);
+        System.out.printf("%n%s payload: rockets %d bytes, %d launches %d bytes%n",
+                format, rocketsBytes.length, launches.size(), launchesBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeRockets() throws IOException {
+        return codec.write(rockets);
+    }
+
+    @Benchmark
+    public byte[] serializeLaunches() throws IOException {
+        return codec.write(launches);
+    }
+
+    @Benchmark
+    public RocketDTO[] deserializeRockets() throws IOException {
+        return codec.read(rocketsBytes, RocketDTO[].class);
+    }
+
+    @Benchmark
+    public LaunchDTO[] deserializeLaunches() throws IOException {
+        return codec.read(launchesBytes, LaunchDTO[].class);
+    }
+
+    private static Codec jackson3(tools.jackson.databind.ObjectMapper mapper) {
+        return new Codec() {
+            @Override
+            public byte[] write(Object value) {
+                return mapper.writeValueAsBytes(value);
+            }
+
+            @Override
+            public <T> T read(byte[] bytes, Class<T> type) {
+                return mapper.readValue(bytes, type);
+            }
+        };
+    }
+
+    private static Codec jackson2(ObjectMapper mapper) {
+        return new Codec() {
+            @Override
+            public byte[] write(Object value) throws IOException {
+                return mapper.writeValueAsBytes(value);
+            }
+
+            @Override
+            public <T> T read(byte[] bytes, Class<T> type) throws IOException {
+                return mapper.readValue(bytes, type);
+            }
+        };
+    }
+}
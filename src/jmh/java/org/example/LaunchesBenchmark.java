@@ -0,0 +1,56 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.LaunchesController.LaunchDTO;
+import org.example.SpaceXJsonReader.LaunchRow;
+
+/**
+ * Measures building the launch store, the per-rocket lookup behind {@code /api/launches/id/{rocketId}}
+ * and launch date formatting.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LaunchesBenchmark {
+    private List<LaunchRow> rows;
+    private LaunchesController controller;
+
+    @Setup
+    public void setUp() throws IOException {
+        rows = SpaceXJsonReader.readLaunches(new ByteArrayInputStream(Fixtures.load("v4-launches.json")));
+        LaunchSnapshotService snapshot = new LaunchSnapshotService(null);
+        snapshot.restore(LaunchStore.of(rows));
+        controller = new LaunchesController(snapshot);
+    }
+
+    @Benchmark
+    public LaunchStore buildStore() {
+        return LaunchStore.of(rows);
+    }
+
+    @Benchmark
+    public List<LaunchDTO> launchesOfRocket() throws Exception {
+        return controller.id(Fixtures.FALCON_9);
+    }
+
+    @Benchmark
+    public void formatDates(Blackhole blackhole) {
+        for (LaunchRow row : rows) {
+            blackhole.consume(LaunchStore.formatDate(row.dateUnix() == null ? LaunchStore.NO_DATE : row.dateUnix()));
+        }
+    }
+}
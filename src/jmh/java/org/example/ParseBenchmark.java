@@ -0,0 +1,51 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.SpaceXJsonReader.LaunchRow;
+import org.example.SpaceXJsonReader.RocketRow;
+
+/**
+ * Measures parsing of the upstream rockets and launches payloads into projected rows.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+    private String rocketsJson;
+    private byte[] launchesJson;
+
+    @Setup
+    public void setUp() {
+        rocketsJson = new String(Fixtures.load("v4-rockets.json"), StandardCharsets.UTF_8);
+        launchesJson = Fixtures.load("v4-launches.json");
+    }
+
+    @Benchmark
+    public List<RocketRow> parseRockets() throws IOException {
+        return RocketsController.parseRockets(rocketsJson);
+    }
+
+    @Benchmark
+    public List<LaunchRow> parseLaunches() throws IOException {
+        return SpaceXJsonReader.readLaunches(new ByteArrayInputStream(launchesJson));
+    }
+
+    @Benchmark
+    public List<LaunchRow> parseLaunchesOfOneRocket() throws IOException {
+        return SpaceXJsonReader.readLaunches(new ByteArrayInputStream(launchesJson), Fixtures.FALCON_9);
+    }
+}
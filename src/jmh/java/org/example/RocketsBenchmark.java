@@ -0,0 +1,43 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.RocketsController.RocketDTO;
+
+/**
+ * Measures the rockets listing, including the sort comparators selected by {@code ?sort=}.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RocketsBenchmark {
+    @Param({"none", "id", "name", "active", "success_rate_pct"})
+    public String sort;
+
+    private RocketsController controller;
+
+    @Setup
+    public void setUp() throws IOException {
+        RocketSnapshotService snapshot = new RocketSnapshotService(null);
+        snapshot.restore(RocketsController.parseRockets(
+                new String(Fixtures.load("v4-rockets.json"), StandardCharsets.UTF_8)));
+        controller = new RocketsController(snapshot);
+    }
+
+    @Benchmark
+    public List<RocketDTO> all() throws Exception {
+        return controller.all(sort);
+    }
+}
@@ -0,0 +1,53 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.LaunchesController.LaunchDTO;
+import org.example.RocketsController.RocketDTO;
+
+/**
+ * Measures serializing the response DTOs with the same Jackson generation Spring MVC uses for responses.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    private List<RocketDTO> rockets;
+    private List<LaunchDTO> launches;
+
+    @Setup
+    public void setUp() throws IOException {
+        RocketSnapshotService rocketSnapshot = new RocketSnapshotService(null);
+        rocketSnapshot.restore(RocketsController.parseRockets(
+                new String(Fixtures.load("v4-rockets.json"), StandardCharsets.UTF_8)));
+        rockets = RocketsController.getRocketsDTO(rocketSnapshot.getRockets());
+        launches = LaunchStore.of(SpaceXJsonReader.readLaunches(
+                new ByteArrayInputStream(Fixtures.load("v4-launches.json")))).launchesOf(Fixtures.FALCON_9);
+    }
+
+    @Benchmark
+    public byte[] serializeRockets() {
+        return mapper.writeValueAsBytes(rockets);
+    }
+
+    @Benchmark
+    public byte[] serializeLaunches() {
+        return mapper.writeValueAsBytes(launches);
+    }
+}
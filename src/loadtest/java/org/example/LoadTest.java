@@ -0,0 +1,227 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * End-to-end load test: starts the application against an {@link UpstreamSimulator},
+ * drives the rockets, launches and enriched launches endpoints from concurrent clients for a fixed duration,
+ * and writes latency percentiles, throughput and upstream call counts of the measured window to a JSON report.
+ * Run with {@code mvn -Ploadtest test-compile exec:exec}; every setting is a system property.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LoadTest {
+    private static final String[] ROCKET_IDS = {
+            "5e9d0d95eda69955f709d1eb", "5e9d0d95eda69973a809d1ec", "5e9d0d95eda69974db09d1ed", "5e9d0d96eda699382d09d1ee"};
+
+    /**
+     * Requests issued in rotation by every client.
+     */
+    private static final List<String> PATHS = List.of(
+            "/api/rockets/all",
+            "/api/rockets/all?sort=name",
+            "/api/rockets/all?sort=success_rate_pct",
+            "/api/launches/id/" + ROCKET_IDS[0],
+            "/api/launches/id/" + ROCKET_IDS[1],
+            "/api/launches/id/" + ROCKET_IDS[2],
+            "/api/launches/id/" + ROCKET_IDS[3],
+            "/api/launches?rocketIds=" + String.join(",", ROCKET_IDS),
+            "/api/launches/enriched?rocketId=" + ROCKET_IDS[1]);
+
+    private LoadTest() {
+    }
+
+    /**
+     * Latencies of one endpoint in nanoseconds, plus its failures.
+     */
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long failures;
+
+        void add(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i]);
+            }
+            failures += other.failures;
+        }
+
+        Map<String, Object> summary(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("failures", failures);
+            summary.put("throughputPerSec", Math.round(count / seconds * 10) / 10.0);
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p95Ms", percentile(sorted, 0.95));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("maxMs", count == 0 ? 0 : Math.round(sorted[count - 1] / 1_000.0) / 1_000.0);
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return Math.round(sorted[Math.max(0, index)] / 1_000.0) / 1_000.0;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 16);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+        long latencyMs = Long.getLong("loadtest.upstream.latency-ms", 150);
+        long jitterMs = Long.getLong("loadtest.upstream.jitter-ms", 50);
+        double errorRate = Double.parseDouble(System.getProperty("loadtest.upstream.error-rate", "0.0"));
+        long refreshMs = Long.getLong("loadtest.refresh-interval-ms", 10_000);
+        Path report = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+
+        try (UpstreamSimulator upstream = new UpstreamSimulator(latencyMs, jitterMs, errorRate);
+             ConfigurableApplicationContext app = SpringApplication.run(Main.class,
+                     "--server.port=0",
+                     "--spacex.api.url=" + upstream.url(),
+                     "--spacex.snapshot.file=",
+                     "--spacex.rockets.refresh-interval-ms=" + refreshMs,
+                     "--spacex.launches.refresh-interval-ms=" + refreshMs,
+                     "--spacex.names.refresh-interval-ms=" + refreshMs)) {
+            String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+            System.out.println("Warming up for " + warmupSeconds + " s with " + clients + " clients");
+            drive(http, baseUrl, clients, Duration.ofSeconds(warmupSeconds));
+
+            Map<String, Long> callsBefore = upstream.calls();
+            long errorsBefore = upstream.errors();
+            long notModifiedBefore = upstream.notModified();
+            System.out.println("Measuring for " + durationSeconds + " s");
+            long start = System.nanoTime();
+            Map<String, Samples> results = drive(http, baseUrl, clients, Duration.ofSeconds(durationSeconds));
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("clients", clients);
+            config.put("durationSeconds", durationSeconds);
+            config.put("upstreamLatencyMs", latencyMs);
+            config.put("upstreamJitterMs", jitterMs);
+            config.put("upstreamErrorRate", errorRate);
+            config.put("refreshIntervalMs", refreshMs);
+
+            Samples overall = new Samples();
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            for (String path : PATHS) {
+                overall.addAll(results.get(path));
+                endpoints.put(path, results.get(path).summary(seconds));
+            }
+            Map<String, Long> upstreamCalls = new LinkedHashMap<>();
+            upstream.calls().forEach((endpoint, count) ->
+                    upstreamCalls.put(endpoint, count - callsBefore.getOrDefault(endpoint, 0L)));
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("timestamp", Instant.now().toString());
+            result.put("config", config);
+            result.put("overall", overall.summary(seconds));
+            result.put("endpoints", endpoints);
+            result.put("upstreamCalls", upstreamCalls);
+            result.put("upstreamErrors", upstream.errors() - errorsBefore);
+            result.put("upstreamNotModified", upstream.notModified() - notModifiedBefore);
+            result.put("httpClient", app.getBean(HttpClientStats.class).snapshot());
+
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            Path parent = report.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            mapper.writeValue(report.toFile(), result);
+            System.out.println(mapper.writeValueAsString(result.get("overall")));
+            System.out.println("Report written to " + report.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Runs the clients until the duration has elapsed and merges their samples per endpoint.
+     */
+    private static Map<String, Samples> drive(HttpClient http, String baseUrl, int clients, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<String, Samples>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(clients)) {
+            for (int client = 0; client < clients; client++) {
+                int offset = client;
+                futures.add(executor.submit(() -> runClient(http, baseUrl, offset, deadline)));
+            }
+        }
+        Map<String, Samples> merged = new LinkedHashMap<>();
+        for (String path : PATHS) {
+            merged.put(path, new Samples());
+        }
+        for (Future<Map<String, Samples>> future : futures) {
+            future.get().forEach((path, samples) -> merged.get(path).addAll(samples));
+        }
+        return merged;
+    }
+
+    /**
+     * One closed-loop client: issues the next request as soon as the previous one completed.
+     * Clients start at different offsets in the rotation so the endpoints are hit evenly.
+     */
+    private static Map<String, Samples> runClient(HttpClient http, String baseUrl, int offset, long deadline) {
+        Map<String, Samples> samples = new LinkedHashMap<>();
+        for (String path : PATHS) {
+            samples.put(path, new Samples());
+        }
+        for (int i = offset; System.nanoTime() < deadline; i++) {
+            String path = PATHS.get(i % PATHS.size());
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Accept", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                long elapsed = System.nanoTime() - start;
+                if (response.statusCode() == 200) {
+                    samples.get(path).add(elapsed);
+                } else {
+                    samples.get(path).failures++;
+                }
+            } catch (IOException e) {
+                samples.get(path).failures++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,199 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded stand-in for the SpaceX API serving the recorded fixtures.
+ * Serves {@code v4/rockets}, {@code v4/launches}, {@code v4/launchpads}, {@code v4/payloads} (all with ETag
+ * revalidation) and {@code v4/launches/query},
+ * delaying every response by a configurable latency plus uniform jitter and failing a configurable
+ * share of requests with 503. Calls are counted per endpoint for the load-test report.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+final class UpstreamSimulator implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+
+    private final byte[] rockets;
+    private final byte[] launches;
+    private final byte[] launchpads;
+    private final byte[] payloads;
+    private final ArrayNode launchDocs;
+
+    UpstreamSimulator(long latencyMs, long jitterMs, double errorRate) throws IOException {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+        this.rockets = fixture("v4-rockets.json");
+        this.launches = fixture("v4-launches.json");
+        this.launchpads = fixture("v4-launchpads.json");
+        this.payloads = fixture("v4-payloads.json");
+        this.launchDocs = (ArrayNode) MAPPER.readTree(launches);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/v4/rockets", exchange -> handle(exchange, "v4/rockets", () -> rockets));
+        server.createContext("/v4/launchpads", exchange -> handle(exchange, "v4/launchpads", () -> launchpads));
+        server.createContext("/v4/payloads", exchange -> handle(exchange, "v4/payloads", () -> payloads));
+        server.createContext("/v4/launches", exchange -> {
+            if (exchange.getRequestURI().getPath().endsWith("/query")) {
+                handle(exchange, "v4/launches/query", () -> query(exchange));
+            } else {
+                handle(exchange, "v4/launches", () -> launches);
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * Returns the base URL to configure as {@code spacex.api.url}.
+     *
+     * @return the simulator URL
+     */
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the number of calls received per endpoint, sorted by endpoint.
+     *
+     * @return calls per endpoint
+     */
+    Map<String, Long> calls() {
+        Map<String, Long> counts = new TreeMap<>();
+        calls.forEach((endpoint, count) -> counts.put(endpoint, count.sum()));
+        return counts;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long notModified() {
+        return notModified.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        byte[] get() throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, String endpoint, Body body) throws IOException {
+        try (exchange) {
+            calls.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+            delay();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errors.increment();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            byte[] bytes = body.get();
+            String etag = etag(bytes);
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.increment();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+
+    /**
+     * Answers a paginated {@code v4/launches/query} for one rocket from the launches fixture.
+     */
+    private byte[] query(HttpExchange exchange) throws IOException {
+        JsonNode request = MAPPER.readTree(exchange.getRequestBody());
+        String rocket = request.path("query").path("rocket").asText();
+        int page = request.path("options").path("page").asInt(1);
+        int limit = request.path("options").path("limit").asInt(10);
+
+        ArrayNode matching = MAPPER.createArrayNode();
+        for (JsonNode launch : launchDocs) {
+            if (rocket.equals(launch.path("rocket").asText())) {
+                matching.add(launch);
+            }
+        }
+        ArrayNode docs = MAPPER.createArrayNode();
+        int from = (page - 1) * limit;
+        for (int i = from; i < Math.min(from + limit, matching.size()); i++) {
+            docs.add(matching.get(i));
+        }
+        ObjectNode result = MAPPER.createObjectNode();
+        result.set("docs", docs);
+        result.put("totalDocs", matching.size());
+        result.put("limit", limit);
+        result.put("page", page);
+        result.put("hasNextPage", from + limit < matching.size());
+        return MAPPER.writeValueAsBytes(result);
+    }
+
+    private void delay() {
+        long jitter = jitterMs > 0 ? ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1) : 0;
+        long pause = Math.max(0, latencyMs + jitter);
+        if (pause == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static byte[] fixture(String name) {
+        try (InputStream in = UpstreamSimulator.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.example;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class registering binary response formats next to JSON.
+ * Clients opt in through the Accept header: {@code application/cbor}, {@code application/x-jackson-smile}
+ * or {@code application/msgpack}. CBOR and Smile take their default slots after the JSON converter,
+ * and endpoints list JSON first in {@code produces}, so requests without a specific Accept header keep receiving JSON.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final String MSGPACK_VALUE = "application/msgpack";
+
+    static final MediaType SMILE = MediaType.parseMediaType(SMILE_VALUE);
+    static final MediaType MSGPACK = MediaType.parseMediaType(MSGPACK_VALUE);
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter())
+                .withSmileConverter(new JacksonSmileHttpMessageConverter())
+                .addCustomConverter(new MessagePackHttpMessageConverter());
+    }
+}
@@ -0,0 +1,33 @@
+package org.example;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller serving the combined rockets and launches dashboard.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+    private final DashboardService dashboardService;
+
+    @Autowired
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Retrieves all rockets together with their launches in one response.
+     *
+     * @return the dashboard
+     */
+    @GetMapping(produces = "application/json")
+    @ResponseBody
+    public DashboardService.Dashboard dashboard() {
+        return dashboardService.load();
+    }
+}
@@ -0,0 +1,132 @@
+package org.example;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.example.LaunchesController.LaunchDTO;
+import org.example.RocketsController.RocketDTO;
+import org.example.SpaceXJsonReader.RocketRow;
+
+/**
+ * Service assembling the dashboard: every rocket together with its launches.
+ * Rockets and launches are loaded concurrently on virtual threads under one shared deadline;
+ * subtasks are joined in completion order, so as soon as either side fails or the deadline passes,
+ * the other side is cancelled before the call returns. The deadline is passed down as an {@link UpstreamDeadline},
+ * so a subtask waiting on a cold snapshot's lock or on the upstream gives up in time, and cancelling interrupts it.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class DashboardService {
+    /**
+     * Dashboard contents.
+     *
+     * @param rockets  All rockets in upstream order
+     * @param launches Launches per rocket ID, in the same order as the rockets
+     */
+    public record Dashboard(List<RocketDTO> rockets, Map<String, List<LaunchDTO>> launches) {
+    }
+
+    private final RocketSnapshotService rocketSnapshotService;
+    private final LaunchSnapshotService launchSnapshotService;
+
+    /**
+     * Deadline shared by the rockets and launches loads.
+     */
+    @Value("${spacex.dashboard.timeout-ms:8000}")
+    private long timeoutMs = 8000;
+
+    @Autowired
+    public DashboardService(RocketSnapshotService rocketSnapshotService, LaunchSnapshotService launchSnapshotService) {
+        this.rocketSnapshotService = rocketSnapshotService;
+        this.launchSnapshotService = launchSnapshotService;
+    }
+
+    /**
+     * Loads rockets and launches concurrently and joins them into one dashboard.
+     * Both loads are usually snapshot hits; they only reach the upstream while a snapshot is still cold.
+     *
+     * @return the dashboard
+     * @throws ResponseStatusException with 504 if the deadline passes, or 502 if a load fails
+     */
+    public Dashboard load() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        // Closing the executor waits for both subtasks, so none outlives this call
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Object> completed = new ExecutorCompletionService<>(scope);
+            // The deadline also bounds waits on a cold snapshot's lock, on a shared fetch and on the upstream request
+            Future<Object> rockets = completed.submit(() -> UpstreamDeadline.within(deadline, rocketSnapshotService::getRockets));
+            completed.submit(() -> UpstreamDeadline.within(deadline, launchSnapshotService::getStore));
+            List<RocketRow> rocketRows = null;
+            LaunchStore store = null;
+            try {
+                // Whichever finishes first is checked first, so a failure of either side fails the call at once
+                for (int i = 0; i < 2; i++) {
+                    Future<Object> done = completed.poll(remaining(deadline), TimeUnit.NANOSECONDS);
+                    if (done == null) {
+                        throw new TimeoutException();
+                    }
+                    Object result = done.get();
+                    if (done == rockets) {
+                        rocketRows = castRockets(result);
+                    } else {
+                        store = (LaunchStore) result;
+                    }
+                }
+                return join(rocketRows, store);
+            } catch (TimeoutException e) {
+                scope.shutdownNow();
+                throw timedOut();
+            } catch (ExecutionException e) {
+                scope.shutdownNow();
+                if (remaining(deadline) == 0) {
+                    // The subtask gave up at the shared deadline
+                    throw timedOut();
+                }
+                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Dashboard data unavailable", e.getCause());
+            } catch (InterruptedException e) {
+                scope.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Dashboard load interrupted", e);
+            }
+        }
+    }
+
+    private static Dashboard join(List<RocketRow> rockets, LaunchStore store) {
+        Map<String, List<LaunchDTO>> launches = new LinkedHashMap<>();
+        for (RocketRow rocket : rockets) {
+            launches.put(rocket.id(), store.launchesOf(rocket.id()));
+        }
+        return new Dashboard(RocketsController.getRocketsDTO(rockets), launches);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<RocketRow> castRockets(Object result) {
+        return (List<RocketRow>) result;
+    }
+
+    private ResponseStatusException timedOut() {
+        return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Dashboard data not ready within " + timeoutMs + " ms");
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
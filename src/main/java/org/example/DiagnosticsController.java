@@ -0,0 +1,33 @@
+package org.example;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller exposing operational diagnostics of the service.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/diagnostics")
+public class DiagnosticsController {
+    private final HttpClientStats httpClientStats;
+
+    @Autowired
+    public DiagnosticsController(HttpClientStats httpClientStats) {
+        this.httpClientStats = httpClientStats;
+    }
+
+    /**
+     * Reports connection pool occupancy and keep-alive reuse of the upstream HTTP client.
+     *
+     * @return the current HTTP client statistics
+     */
+    @GetMapping(value = "/http-client", produces = "application/json")
+    @ResponseBody
+    public HttpClientStats.Snapshot httpClient() {
+        return httpClientStats.snapshot();
+    }
+}
@@ -0,0 +1,146 @@
+package org.example;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.example.ReferenceSnapshotService.Names;
+import org.example.SpaceXJsonReader.RocketRow;
+
+/**
+ * Service joining launches to their rocket, launchpad and payload names on the server,
+ * so a client gets display-ready rows in one response instead of resolving each id separately.
+ * The join is a hash join: rocket names are hashed by id, launchpad and payload names already are,
+ * and the launch snapshot is probed in a single pass. The joined rows are computed once per
+ * combination of snapshots and reused until one of them is replaced.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class EnrichedLaunchService {
+    /**
+     * A launch with the names of everything it refers to.
+     *
+     * @param id            The unique identifier of the launch
+     * @param name          The name of the launch
+     * @param date          The formatted date of the launch in "MMM dd, yyyy" format, empty when unknown
+     * @param rocketId      The rocket ID, may be null
+     * @param rocketName    The rocket name, null if the rocket is unknown
+     * @param launchpadId   The launchpad ID, may be null
+     * @param launchpadName The launchpad name, null if the launchpad is unknown
+     * @param payloadNames  The names of the launch's known payloads, in upstream order
+     * @since 1.0
+     */
+    public record EnrichedLaunchDTO(String id, String name, String date, String rocketId, String rocketName,
+                                    String launchpadId, String launchpadName, List<String> payloadNames) {
+    }
+
+    /**
+     * Joined rows of one combination of snapshots.
+     *
+     * @param store   the launch snapshot
+     * @param rockets the rocket snapshot
+     * @param names   the launchpad and payload names
+     * @param byRow   joined launch per store row
+     */
+    private record Joined(LaunchStore store, List<RocketRow> rockets, Names names, EnrichedLaunchDTO[] byRow) {
+    }
+
+    private final LaunchSnapshotService launchSnapshotService;
+    private final RocketSnapshotService rocketSnapshotService;
+    private final ReferenceSnapshotService referenceSnapshotService;
+
+    private volatile Joined joined;
+
+    @Autowired
+    public EnrichedLaunchService(LaunchSnapshotService launchSnapshotService,
+                                 RocketSnapshotService rocketSnapshotService,
+                                 ReferenceSnapshotService referenceSnapshotService) {
+        this.launchSnapshotService = launchSnapshotService;
+        this.rocketSnapshotService = rocketSnapshotService;
+        this.referenceSnapshotService = referenceSnapshotService;
+    }
+
+    /**
+     * Returns launches joined to their rocket, launchpad and payload names.
+     *
+     * @param rocketId the rocket whose launches to return, or null for every launch
+     * @return joined launches in upstream order, empty if the rocket has none
+     * @throws org.springframework.web.client.RestClientException if a snapshot is not loaded and the load fails
+     */
+    public List<EnrichedLaunchDTO> getLaunches(String rocketId) {
+        Joined current = joined();
+        if (rocketId == null) {
+            return Collections.unmodifiableList(Arrays.asList(current.byRow()));
+        }
+        int[] rows = current.store().rowsOf(current.store().rocketCode(rocketId));
+        EnrichedLaunchDTO[] launches = new EnrichedLaunchDTO[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            launches[i] = current.byRow()[rows[i]];
+        }
+        return Collections.unmodifiableList(Arrays.asList(launches));
+    }
+
+    private Joined joined() {
+        LaunchStore store = launchSnapshotService.getStore();
+        List<RocketRow> rockets = rocketSnapshotService.getRockets();
+        Names names = referenceSnapshotService.getNames();
+        Joined current = this.joined;
+        if (current == null || current.store() != store || current.rockets() != rockets
+                || current.names() != names) {
+            current = new Joined(store, rockets, names, join(store, rockets, names));
+            this.joined = current;
+        }
+        return current;
+    }
+
+    /**
+     * Hash-joins every launch of the store to the rocket, launchpad and payload names.
+     */
+    static EnrichedLaunchDTO[] join(LaunchStore store, List<RocketRow> rockets, Names names) {
+        // Build side: the few rockets. Rocket ids are dictionary-encoded in the store,
+        // so the name is resolved once per rocket code rather than once per launch.
+        Map<String, String> rocketNames = new HashMap<>(rockets.size() * 4 / 3 + 1);
+        for (RocketRow rocket : rockets) {
+            rocketNames.put(rocket.id(), rocket.name());
+        }
+        String[] rocketNameByCode = new String[store.rocketCount()];
+        for (int code = 0; code < rocketNameByCode.length; code++) {
+            rocketNameByCode[code] = rocketNames.get(store.rocketIdOf(code));
+        }
+
+        // Probe side: one pass over the launches
+        EnrichedLaunchDTO[] byRow = new EnrichedLaunchDTO[store.size()];
+        for (int row = 0; row < byRow.length; row++) {
+            int code = store.rocketCodeOf(row);
+            String launchpadId = store.launchpadId(row);
+            byRow[row] = new EnrichedLaunchDTO(store.id(row), store.name(row), store.date(row),
+                    store.rocketId(row), code == LaunchStore.NO_ROCKET ? null : rocketNameByCode[code],
+                    launchpadId, launchpadId == null ? null : names.launchpads().get(launchpadId),
+                    payloadNames(store.payloadIds(row), names.payloads()));
+        }
+        return byRow;
+    }
+
+    private static List<String> payloadNames(String[] payloadIds, Map<String, String> payloads) {
+        if (payloadIds.length == 0) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>(payloadIds.length);
+        for (String payloadId : payloadIds) {
+            String name = payloads.get(payloadId);
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        return Collections.unmodifiableList(names);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import org.example.EnrichedLaunchService.EnrichedLaunchDTO;
+
+/**
+ * REST Controller serving display-ready launches, joined on the server to their rocket,
+ * launchpad and payload names.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/launches")
+public class EnrichedLaunchesController {
+    private final EnrichedLaunchService enrichedLaunchService;
+
+    @Autowired
+    public EnrichedLaunchesController(EnrichedLaunchService enrichedLaunchService) {
+        this.enrichedLaunchService = enrichedLaunchService;
+    }
+
+    /**
+     * Retrieves launches with the names of their rocket, launchpad and payloads.
+     *
+     * @param rocketId Optional rocket to limit the launches to
+     * @return Joined launches in upstream order, empty if the rocket has none
+     */
+    @GetMapping(value = "/enriched", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.SMILE_VALUE, BinaryFormatsConfig.MSGPACK_VALUE})
+    @ResponseBody
+    public List<EnrichedLaunchDTO> enriched(@RequestParam(value = "rocketId", required = false) String rocketId) {
+        return enrichedLaunchService.getLaunches(rocketId);
+    }
+}
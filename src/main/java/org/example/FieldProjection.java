@@ -0,0 +1,184 @@
+package org.example;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Projects response DTOs down to a requested set of properties, for the {@code fields} query parameter.
+ * <p>
+ * DTOs are records, and their JSON property names are their component names. For each distinct pair of
+ * record type and field set a {@link Projector} is built once, resolving the kept components' accessors to
+ * method handles, and cached; projecting a response then only invokes those handles, without reflection.
+ * The field set applies to leaf DTOs, the records holding no records. A wrapper record, one with a component
+ * holding records (a nested DTO, or a list or map of them, such as the launches of a page), keeps all of its
+ * components and projects the nested records in turn: {@code fields=id,name} applies to the launches inside
+ * the page, while the page keeps its {@code nextCursor}. Unknown field names are ignored.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+class FieldProjection {
+    /**
+     * Cache key of one projector.
+     */
+    private record Key(Class<?> type, Set<String> fields) {
+    }
+
+    /**
+     * Writes the kept components of one record type into a map, in declaration order.
+     *
+     * @param names     the kept component names
+     * @param accessors their accessors
+     * @param nested    whether each component holds records and is projected in turn
+     */
+    private record Projector(String[] names, MethodHandle[] accessors, boolean[] nested) {
+    }
+
+    private final Cache<Key, Projector> projectors;
+
+    /**
+     * @param maxProjectors how many projectors to keep; field sets are chosen by clients, so the cache is bounded
+     */
+    FieldProjection(long maxProjectors) {
+        this.projectors = Caffeine.newBuilder().maximumSize(maxProjectors).build();
+    }
+
+    /**
+     * Parses a {@code fields} parameter.
+     *
+     * @param fields comma-separated property names
+     * @return the names, empty if none is given
+     */
+    static Set<String> parse(String fields) {
+        return Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Projects a response body.
+     *
+     * @param body   the response body
+     * @param fields the properties to keep
+     * @return the projected body as maps and lists, or the body itself if it holds no records
+     */
+    Object project(Object body, Set<String> fields) {
+        if (body instanceof Record record) {
+            return project(record, fields);
+        }
+        if (body instanceof Collection<?> collection) {
+            List<Object> projected = null;
+            int index = 0;
+            for (Object element : collection) {
+                Object value = project(element, fields);
+                if (projected == null && value != element) {
+                    // First projected element: copy the ones before it unchanged
+                    projected = new ArrayList<>(collection.size());
+                    projected.addAll(collection.stream().limit(index).toList());
+                }
+                if (projected != null) {
+                    projected.add(value);
+                }
+                index++;
+            }
+            return projected == null ? body : projected;
+        }
+        if (body instanceof Map<?, ?> map) {
+            Map<Object, Object> projected = null;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object value = project(entry.getValue(), fields);
+                if (projected == null && value != entry.getValue()) {
+                    projected = new LinkedHashMap<>(map.size() * 4 / 3 + 1);
+                    for (Map.Entry<?, ?> before : map.entrySet()) {
+                        if (before == entry) {
+                            break;
+                        }
+                        projected.put(before.getKey(), before.getValue());
+                    }
+                }
+                if (projected != null) {
+                    projected.put(entry.getKey(), value);
+                }
+            }
+            return projected == null ? body : projected;
+        }
+        return body;
+    }
+
+    private Map<String, Object> project(Record record, Set<String> fields) {
+        Projector projector = projectors.get(new Key(record.getClass(), fields), FieldProjection::projector);
+        String[] names = projector.names();
+        Map<String, Object> projected = new LinkedHashMap<>(names.length * 4 / 3 + 1);
+        for (int i = 0; i < names.length; i++) {
+            Object value;
+            try {
+                value = projector.accessors()[i].invoke(record);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot read " + names[i] + " of " + record.getClass().getName(), e);
+            }
+            projected.put(names[i], projector.nested()[i] ? project(value, fields) : value);
+        }
+        return projected;
+    }
+
+    private static Projector projector(Key key) {
+        List<String> names = new ArrayList<>();
+        List<MethodHandle> accessors = new ArrayList<>();
+        List<Boolean> nested = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        RecordComponent[] components = key.type().getRecordComponents();
+        boolean wrapper = Arrays.stream(components).anyMatch(component -> holdsRecords(component.getGenericType()));
+        for (RecordComponent component : components) {
+            boolean holdsRecords = holdsRecords(component.getGenericType());
+            if (!wrapper && !key.fields().contains(component.getName())) {
+                continue;
+            }
+            try {
+                // DTOs nested in package-private classes are not accessible otherwise
+                component.getAccessor().setAccessible(true);
+                accessors.add(lookup.unreflect(component.getAccessor()));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access " + component, e);
+            }
+            names.add(component.getName());
+            nested.add(holdsRecords);
+        }
+        boolean[] nestedFlags = new boolean[nested.size()];
+        for (int i = 0; i < nestedFlags.length; i++) {
+            nestedFlags[i] = nested.get(i);
+        }
+        return new Projector(names.toArray(String[]::new), accessors.toArray(MethodHandle[]::new), nestedFlags);
+    }
+
+    /**
+     * Whether a component type is a record, or a collection or map with record elements or values.
+     */
+    private static boolean holdsRecords(Type type) {
+        if (type instanceof Class<?> cls) {
+            return cls.isRecord();
+        }
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && (Collection.class.isAssignableFrom(raw) || Map.class.isAssignableFrom(raw))) {
+            Type[] arguments = parameterized.getActualTypeArguments();
+            return holdsRecords(arguments[arguments.length - 1]);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Applies the {@code fields} query parameter to every API response, e.g. {@code /api/rockets/all?fields=id,name}.
+ * The body is projected by {@link FieldProjection} and then written by the negotiated converter as usual,
+ * so projections work in JSON and in the binary formats alike. Without the parameter bodies are untouched.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@RestControllerAdvice
+public class FieldsResponseAdvice implements ResponseBodyAdvice<Object> {
+    /**
+     * Query parameter listing the properties to keep.
+     */
+    static final String FIELDS_PARAM = "fields";
+
+    /**
+     * A projected body. Serialized as its value; the wrapper keeps converters from writing the
+     * projected maps as the controller's declared return type.
+     *
+     * @param value the projected body
+     */
+    record Projected(@JsonValue Object value) {
+    }
+
+    private final FieldProjection projection;
+
+    public FieldsResponseAdvice() {
+        this(256);
+    }
+
+    @Autowired
+    public FieldsResponseAdvice(@Value("${spacex.fields.max-projectors:256}") long maxProjectors) {
+        this.projection = new FieldProjection(maxProjectors);
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAM);
+        if (fields == null) {
+            return body;
+        }
+        Set<String> names = FieldProjection.parse(fields);
+        if (names.isEmpty()) {
+            return body;
+        }
+        Object projected = projection.project(body, names);
+        // Bodies without records, such as error messages, are left for their converter as they are
+        return projected == body ? body : new Projected(projected);
+    }
+}
@@ -0,0 +1,68 @@
+package org.example;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection reuse counters for the pooled upstream HTTP client.
+ * Counts every request sent and every new connection opened, so the difference
+ * tells how many requests were served over a kept-alive connection.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+public class HttpClientStats {
+    /**
+     * Point-in-time view of the upstream connection pool.
+     *
+     * @param requests           Requests sent upstream
+     * @param connectionsCreated New connections opened
+     * @param reusedRequests     Requests sent over an already open connection
+     * @param reuseRatio         Share of requests that reused a connection, 0 when nothing was sent yet
+     * @param leased             Connections currently in use
+     * @param available          Idle connections kept alive in the pool
+     * @param pending            Requests waiting for a connection
+     * @param max                Maximum connections the pool allows
+     */
+    public record Snapshot(long requests, long connectionsCreated, long reusedRequests, double reuseRatio,
+                           int leased, int available, int pending, int max) {
+    }
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder connectionsCreated = new LongAdder();
+    private volatile PoolingHttpClientConnectionManager pool;
+
+    void recordRequest() {
+        requests.increment();
+    }
+
+    void recordConnectionCreated() {
+        connectionsCreated.increment();
+    }
+
+    /**
+     * Attaches the connection pool whose occupancy should be reported.
+     *
+     * @param pool the connection manager backing the HTTP client
+     */
+    void bind(PoolingHttpClientConnectionManager pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the current counters and pool occupancy.
+     *
+     * @return a snapshot of the connection statistics
+     */
+    public Snapshot snapshot() {
+        long sent = requests.sum();
+        long created = connectionsCreated.sum();
+        long reused = Math.max(0, sent - created);
+        PoolStats totals = pool != null ? pool.getTotalStats() : new PoolStats(0, 0, 0, 0);
+        return new Snapshot(sent, created, reused, sent == 0 ? 0 : (double) reused / sent,
+                totals.getLeased(), totals.getAvailable(), totals.getPending(), totals.getMax());
+    }
+}
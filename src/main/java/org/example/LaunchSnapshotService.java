@@ -0,0 +1,252 @@
+package org.example;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.example.LaunchesController.LaunchDTO;
+import org.example.SpaceXJsonReader.LaunchRow;
+
+/**
+ * Service holding an in-memory snapshot of all SpaceX launches, grouped by rocket id.
+ * The snapshot is refreshed in the background so that launch lookups are plain index hits
+ * and never perform upstream I/O on the request path once the first load has completed.
+ * Before that, lookups fall back to a per-rocket upstream query, shared by concurrent lookups of the same rocket.
+ * A {@link SnapshotChangedEvent} is published whenever a refresh swaps in different data.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class LaunchSnapshotService {
+    /**
+     * Snapshot type, for decoding the shared copy held by {@link SnapshotCache}.
+     */
+    private static final TypeReference<List<LaunchRow>> LAUNCHES_TYPE = new TypeReference<>() {
+    };
+
+    private final SpaceXRocketsApi spaceXRocketsApi;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SnapshotCache snapshotCache;
+
+    /**
+     * Guards refresh, the cold-start load and restore; held across the upstream fetch.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Value("${spacex.launches.refresh-interval-ms:300000}")
+    private long refreshIntervalMs = 300000;
+
+    @Value("${spacex.refresh.retry-min-ms:1000}")
+    private long retryMinMs = 1000;
+
+    private final RefreshSchedule schedule = new RefreshSchedule();
+
+    /**
+     * Columnar launch store, replaced wholesale on every refresh.
+     * Null until the first successful load.
+     */
+    private volatile LaunchStore store;
+
+    /**
+     * Upstream rows the current snapshot was built from.
+     * Compared by content, which is cheap when the API client hands back the same instance after a 304 Not Modified,
+     * and still holds when {@link SnapshotCache} decodes an unchanged shared snapshot again.
+     */
+    private List<LaunchRow> sourceRows;
+
+    public LaunchSnapshotService(SpaceXRocketsApi spaceXRocketsApi) {
+        this(spaceXRocketsApi, event -> {
+        });
+    }
+
+    public LaunchSnapshotService(SpaceXRocketsApi spaceXRocketsApi, ApplicationEventPublisher eventPublisher) {
+        this(spaceXRocketsApi, eventPublisher, new SnapshotCache());
+    }
+
+    public LaunchSnapshotService(SpaceXRocketsApi spaceXRocketsApi, ApplicationEventPublisher eventPublisher,
+                                 SnapshotCache snapshotCache) {
+        this(spaceXRocketsApi, eventPublisher, snapshotCache, new SpaceXMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Autowired
+    public LaunchSnapshotService(SpaceXRocketsApi spaceXRocketsApi, ApplicationEventPublisher eventPublisher,
+                                 SnapshotCache snapshotCache, SpaceXMetrics metrics) {
+        this.spaceXRocketsApi = spaceXRocketsApi;
+        this.eventPublisher = eventPublisher;
+        this.snapshotCache = snapshotCache;
+        metrics.bindLaunchSnapshotRows(() -> {
+            LaunchStore current = this.store;
+            return current == null ? 0 : current.size();
+        });
+    }
+
+    /**
+     * Reloads the launch snapshot from the SpaceX API when a refresh is due.
+     * Runs on startup and then on the configured interval. A failed refresh keeps serving the previous
+     * snapshot and is retried with exponential backoff, starting at {@code spacex.refresh.retry-min-ms}.
+     */
+    @Scheduled(fixedDelayString = "${spacex.refresh.tick-ms:1000}")
+    public void scheduledRefresh() {
+        if (!schedule.isDue()) {
+            return;
+        }
+        try {
+            refresh();
+            schedule.succeeded(refreshIntervalMs);
+        } catch (Exception e) {
+            long retryMs = schedule.failed(retryMinMs, refreshIntervalMs);
+            System.err.println("Error refreshing launch snapshot, retrying in " + retryMs + " ms: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Downloads all launches, or takes them from the shared snapshot cache when another replica refreshed them recently,
+     * and applies the added, changed and removed ones to the snapshot.
+     * The {@link SnapshotChangedEvent} carries the ids of the rockets whose launches changed.
+     *
+     * @throws org.springframework.web.client.RestClientException if the launches cannot be fetched or parsed
+     */
+    public void refresh() {
+        lock.lock();
+        try {
+            List<LaunchRow> launches = this.snapshotCache.load("launches", refreshIntervalMs, LAUNCHES_TYPE,
+                    this.spaceXRocketsApi::getAllLaunches);
+            LaunchStore previous = this.store;
+            if (previous != null && launches.equals(this.sourceRows)) {
+                // Upstream unchanged, or the shared snapshot was decoded again with the same content;
+                // the current snapshot is still valid and the per-launch diff can be skipped
+                return;
+            }
+            // Only added and changed launches are re-ingested; an identical feed keeps the current store
+            LaunchStore updated = previous == null ? LaunchStore.of(launches) : previous.update(launches);
+            this.sourceRows = launches;
+            if (updated == previous) {
+                return;
+            }
+            this.store = updated;
+            this.eventPublisher.publishEvent(new SnapshotChangedEvent(SnapshotChangedEvent.LAUNCHES,
+                    updated.changedRocketIdsSince(previous)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the launches flown by the given rocket from the current snapshot.
+     * Until the first refresh has completed, the rocket's launches are fetched through
+     * the upstream query API instead, which transfers only that rocket's launches.
+     *
+     * @param rocketId the rocket id to look up
+     * @return launches for the rocket, empty if there are none
+     * @throws org.springframework.web.client.RestClientException if the snapshot is not loaded and the query fails
+     */
+    public List<LaunchDTO> getLaunches(String rocketId) {
+        LaunchStore snapshot = this.store;
+        if (snapshot == null) {
+            snapshot = LaunchStore.of(this.spaceXRocketsApi.queryLaunchesByRocket(rocketId));
+        }
+        return snapshot.launchesOf(rocketId);
+    }
+
+    /**
+     * Hands the launches flown by the given rocket to the sink one at a time.
+     * From a loaded snapshot this walks the rocket's rows without building a list;
+     * before the first refresh the rocket's launches are queried upstream, sharing a query already running
+     * for the same rocket, and then passed on.
+     *
+     * @param rocketId the rocket id to look up
+     * @param sink     receives each launch in order
+     * @throws org.springframework.web.client.RestClientException if the snapshot is not loaded and the query fails
+     */
+    public void streamLaunches(String rocketId, Consumer<LaunchDTO> sink) {
+        LaunchStore snapshot = this.store;
+        if (snapshot == null) {
+            for (LaunchRow launch : this.spaceXRocketsApi.queryLaunchesByRocket(rocketId)) {
+                sink.accept(LaunchStore.toDTO(launch));
+            }
+            return;
+        }
+        for (int row : snapshot.rowsOf(snapshot.rocketCode(rocketId))) {
+            sink.accept(snapshot.toDTO(row));
+        }
+    }
+
+    /**
+     * Returns the launches of several rockets at once, grouped by rocket id.
+     * Each rocket is a single index lookup; if no refresh has completed yet the full
+     * snapshot is loaded once rather than querying every rocket separately.
+     *
+     * @param rocketIds the rocket ids to look up
+     * @return launches per requested rocket id, in request order; rockets without launches map to an empty list
+     * @throws org.springframework.web.client.RestClientException if the snapshot is not loaded and the load fails
+     */
+    public Map<String, List<LaunchDTO>> getLaunches(Collection<String> rocketIds) {
+        LaunchStore snapshot = getStore();
+        Map<String, List<LaunchDTO>> launches = new LinkedHashMap<>();
+        for (String rocketId : rocketIds) {
+            launches.put(rocketId, snapshot.launchesOf(rocketId));
+        }
+        return launches;
+    }
+
+    /**
+     * Returns the current launch store, loading the full snapshot synchronously if no refresh has completed yet.
+     *
+     * @return the launch store
+     * @throws org.springframework.web.client.RestClientException if the snapshot is not loaded and the load fails
+     */
+    public LaunchStore getStore() {
+        LaunchStore snapshot = this.store;
+        if (snapshot == null) {
+            UpstreamDeadline.lock(lock, "launch snapshot");
+            try {
+                if (this.store == null) {
+                    refresh();
+                }
+                snapshot = this.store;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the current launch store without triggering a load.
+     *
+     * @return the launch store, or null if nothing has been loaded yet
+     */
+    public LaunchStore snapshot() {
+        return this.store;
+    }
+
+    /**
+     * Seeds the snapshot with previously persisted launches, unless live data has already been loaded.
+     * Used at startup so requests are served while the first refresh is still running.
+     *
+     * @param persisted launches restored from disk
+     */
+    public void restore(LaunchStore persisted) {
+        lock.lock();
+        try {
+            if (this.store == null) {
+                this.store = persisted;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.example;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Per-rocket launch statistics aggregated over a {@link LaunchStore} in one parallel fork-join pass.
+ * The rows are split into ranges, each range is folded into per-rocket partial aggregates and the
+ * partials are merged pairwise; every statistic is mergeable, so no rows need to be sorted.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LaunchStats {
+    /**
+     * Row ranges at most this long are aggregated sequentially rather than split further.
+     */
+    static final int SEQUENTIAL_ROWS = 1024;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    /**
+     * Launch statistics of one rocket.
+     *
+     * @param rocketId                The rocket id
+     * @param launches                Number of launches, dated or not
+     * @param firstLaunch             Date of the earliest dated launch in "MMM dd, yyyy" format, empty if none
+     * @param lastLaunch              Date of the latest dated launch in "MMM dd, yyyy" format, empty if none
+     * @param launchesPerYear         Dated launches per calendar year, ascending by year
+     * @param meanDaysBetweenLaunches Average days between consecutive dated launches; null with fewer than two
+     */
+    public record RocketStatsDTO(String rocketId, int launches, String firstLaunch, String lastLaunch,
+                                 SortedMap<Integer, Integer> launchesPerYear, Double meanDaysBetweenLaunches) {
+    }
+
+    private final Map<String, RocketStatsDTO> byRocket;
+
+    private LaunchStats(Map<String, RocketStatsDTO> byRocket) {
+        this.byRocket = byRocket;
+    }
+
+    /**
+     * Aggregates every rocket's launches in the store.
+     *
+     * @param store the launches
+     * @param pool  the pool running the aggregation
+     * @return the statistics
+     */
+    static LaunchStats compute(LaunchStore store, ForkJoinPool pool) {
+        Partial[] partials = pool.invoke(new Aggregate(store, 0, store.size()));
+        Map<String, RocketStatsDTO> byRocket = new HashMap<>();
+        for (int code = 0; code < partials.length; code++) {
+            if (partials[code] != null) {
+                String rocketId = store.rocketIdOf(code);
+                byRocket.put(rocketId, partials[code].toDTO(rocketId));
+            }
+        }
+        return new LaunchStats(Map.copyOf(byRocket));
+    }
+
+    /**
+     * Recomputes only the given rockets' statistics from a newer store and keeps the others.
+     *
+     * @param store     the newer launches
+     * @param rocketIds the rockets whose launches changed
+     * @return the updated statistics
+     */
+    LaunchStats update(LaunchStore store, Set<String> rocketIds) {
+        Map<String, RocketStatsDTO> updated = new HashMap<>(byRocket);
+        for (String rocketId : rocketIds) {
+            int[] rows = store.rowsOf(store.rocketCode(rocketId));
+            if (rows.length == 0) {
+                updated.remove(rocketId);
+                continue;
+            }
+            Partial partial = new Partial();
+            for (int row : rows) {
+                partial.add(store.dateUnix(row));
+            }
+            updated.put(rocketId, partial.toDTO(rocketId));
+        }
+        return new LaunchStats(Map.copyOf(updated));
+    }
+
+    /**
+     * Returns a rocket's statistics.
+     *
+     * @param rocketId the rocket id
+     * @return the statistics, all zero or empty if the rocket has no launches
+     */
+    RocketStatsDTO of(String rocketId) {
+        RocketStatsDTO stats = byRocket.get(rocketId);
+        return stats != null ? stats : new RocketStatsDTO(rocketId, 0, "", "", Collections.emptySortedMap(), null);
+    }
+
+    /**
+     * Aggregates of one rocket over part of the rows.
+     */
+    private static final class Partial {
+        private int launches;
+        private int dated;
+        private long first = Long.MAX_VALUE;
+        private long last = Long.MIN_VALUE;
+        private final SortedMap<Integer, Integer> perYear = new TreeMap<>();
+
+        private void add(long dateUnix) {
+            launches++;
+            if (dateUnix == LaunchStore.NO_DATE) {
+                return;
+            }
+            dated++;
+            first = Math.min(first, dateUnix);
+            last = Math.max(last, dateUnix);
+            perYear.merge(Instant.ofEpochSecond(dateUnix).atZone(LaunchStore.DATE_ZONE).getYear(), 1, Integer::sum);
+        }
+
+        private Partial merge(Partial other) {
+            launches += other.launches;
+            dated += other.dated;
+            first = Math.min(first, other.first);
+            last = Math.max(last, other.last);
+            other.perYear.forEach((year, count) -> perYear.merge(year, count, Integer::sum));
+            return this;
+        }
+
+        private RocketStatsDTO toDTO(String rocketId) {
+            // The gaps between consecutive launches sum to the span between the first and the last
+            Double meanDays = dated < 2 ? null : (double) (last - first) / SECONDS_PER_DAY / (dated - 1);
+            return new RocketStatsDTO(rocketId, launches,
+                    LaunchStore.formatDate(dated == 0 ? LaunchStore.NO_DATE : first),
+                    LaunchStore.formatDate(dated == 0 ? LaunchStore.NO_DATE : last),
+                    Collections.unmodifiableSortedMap(perYear), meanDays);
+        }
+    }
+
+    /**
+     * Aggregates rows [from, to) into partials indexed by rocket code.
+     */
+    private static final class Aggregate extends RecursiveTask<Partial[]> {
+        private final LaunchStore store;
+        private final int from;
+        private final int to;
+
+        private Aggregate(LaunchStore store, int from, int to) {
+            this.store = store;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial[] compute() {
+            if (to - from <= SEQUENTIAL_ROWS) {
+                Partial[] partials = new Partial[store.rocketCount()];
+                for (int row = from; row < to; row++) {
+                    int code = store.rocketCodeOf(row);
+                    if (code == LaunchStore.NO_ROCKET) {
+                        continue;
+                    }
+                    if (partials[code] == null) {
+                        partials[code] = new Partial();
+                    }
+                    partials[code].add(store.dateUnix(row));
+                }
+                return partials;
+            }
+            int mid = (from + to) >>> 1;
+            Aggregate left = new Aggregate(store, from, mid);
+            left.fork();
+            Partial[] right = new Aggregate(store, mid, to).compute();
+            Partial[] merged = left.join();
+            for (int code = 0; code < merged.length; code++) {
+                if (merged[code] == null) {
+                    merged[code] = right[code];
+                } else if (right[code] != null) {
+                    merged[code].merge(right[code]);
+                }
+            }
+            return merged;
+        }
+    }
+}
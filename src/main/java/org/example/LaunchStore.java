@@ -0,0 +1,662 @@
+package org.example;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+
+import org.example.LaunchesController.LaunchDTO;
+import org.example.SpaceXJsonReader.LaunchRow;
+
+/**
+ * Immutable, column-oriented store of SpaceX launches.
+ * Each launch is a row index into parallel arrays; rocket ids are dictionary-encoded as int codes,
+ * repeated names share one String instance, and display dates are formatted once at ingest.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LaunchStore {
+    /**
+     * Marker stored in the date column for launches without a date_unix.
+     */
+    static final long NO_DATE = Long.MIN_VALUE;
+
+    /**
+     * Marker stored in the rocket column for launches without a rocket.
+     */
+    static final int NO_ROCKET = -1;
+
+    /**
+     * Zone in which launch dates are displayed and date filters are interpreted.
+     */
+    static final ZoneId DATE_ZONE = ZoneId.of("America/New_York");
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy", Locale.US)
+            .withZone(DATE_ZONE);
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private static final String[] NO_PAYLOADS = new String[0];
+
+    /**
+     * Sequence behind {@link #version}.
+     */
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    /**
+     * Orders in which launches can be listed page by page.
+     * Every order breaks ties by launch id, so a position in it is identified by (key, id).
+     */
+    public enum Sort {
+        DATE, NAME, ID
+    }
+
+    /**
+     * Position after which a keyset page starts: the sort key and id of the last launch of the previous page.
+     *
+     * @param sort     the order the cursor belongs to
+     * @param dateUnix the date key, for {@link Sort#DATE}
+     * @param text     the name or id key, for {@link Sort#NAME} and {@link Sort#ID}; may be null
+     * @param id       the launch id breaking ties
+     */
+    public record Cursor(Sort sort, long dateUnix, String text, String id) {
+    }
+
+    /**
+     * One page of launches.
+     *
+     * @param launches the launches on the page
+     * @param next     the cursor of the following page, or null if this is the last page
+     */
+    public record Page(List<LaunchDTO> launches, Cursor next) {
+    }
+
+    private final String[] ids;
+    private final String[] names;
+    private final int[] rocketCodes;
+    private final long[] dateUnix;
+    private final String[] dates;
+    private final String[] launchpadIds;
+    private final String[][] payloadIds;
+
+    /**
+     * Rocket id dictionary: code to rocket id.
+     */
+    private final String[] rocketIds;
+
+    /**
+     * Rocket id dictionary: rocket id to code.
+     */
+    private final Map<String, Integer> rocketCodeById;
+
+    /**
+     * Row indexes of each rocket's launches in upstream order, indexed by rocket code.
+     */
+    private final int[][] rowsByRocket;
+
+    /**
+     * All rows in each sort order, indexed by {@link Sort#ordinal()}.
+     */
+    private final int[][] orders;
+
+    /**
+     * Each rocket's rows in each sort order, indexed by rocket code and then {@link Sort#ordinal()}.
+     */
+    private final int[][][] ordersByRocket;
+
+    /**
+     * Identifies this store among all stores built in this process.
+     */
+    private final long version = VERSIONS.incrementAndGet();
+
+    /**
+     * Version of the store this one was derived from by {@link #update(List)}, or 0 if built from scratch.
+     */
+    private final long baseVersion;
+
+    /**
+     * Ids of the rockets whose launches differ from the base store, or null if built from scratch.
+     */
+    private final Set<String> changedRocketIds;
+
+    /**
+     * What an incrementally built store takes over from its base store.
+     *
+     * @param store     the base store
+     * @param oldToNew  new row index of each base row whose launch is unchanged, -1 for changed and removed rows
+     * @param freshRows new rows whose launch is new or changed, ascending
+     * @param affected  per rocket code, whether any of the rocket's launches were added, changed or removed
+     */
+    private record Base(LaunchStore store, int[] oldToNew, int[] freshRows, boolean[] affected) {
+    }
+
+    private LaunchStore(String[] ids, String[] names, int[] rocketCodes, long[] dateUnix, String[] dates,
+                        String[] launchpadIds, String[][] payloadIds,
+                        String[] rocketIds, Map<String, Integer> rocketCodeById, Base base) {
+        this.ids = ids;
+        this.names = names;
+        this.rocketCodes = rocketCodes;
+        this.dateUnix = dateUnix;
+        this.dates = dates;
+        this.launchpadIds = launchpadIds;
+        this.payloadIds = payloadIds;
+        this.rocketIds = rocketIds;
+        this.rocketCodeById = rocketCodeById;
+
+        int[] counts = new int[rocketIds.length];
+        for (int code : rocketCodes) {
+            if (code != NO_ROCKET) {
+                counts[code]++;
+            }
+        }
+        this.rowsByRocket = new int[rocketIds.length][];
+        for (int code = 0; code < rocketIds.length; code++) {
+            rowsByRocket[code] = new int[counts[code]];
+        }
+        int[] fill = new int[rocketIds.length];
+        for (int row = 0; row < rocketCodes.length; row++) {
+            int code = rocketCodes[row];
+            if (code != NO_ROCKET) {
+                rowsByRocket[code][fill[code]++] = row;
+            }
+        }
+
+        // Sort once per snapshot; a page request is then a binary search plus a slice.
+        // A store derived from a base only sorts its fresh rows and merges them into the base orders.
+        Sort[] sorts = Sort.values();
+        this.orders = new int[sorts.length][];
+        for (Sort sort : sorts) {
+            orders[sort.ordinal()] = base == null
+                    ? sorted(allRows(ids.length), sort)
+                    : merged(remapped(base.store().orders[sort.ordinal()], base.oldToNew()),
+                    sorted(base.freshRows(), sort), sort);
+        }
+        this.ordersByRocket = new int[rocketIds.length][sorts.length][];
+        for (int code = 0; code < rocketIds.length; code++) {
+            boolean reuse = base != null && !base.affected()[code];
+            for (Sort sort : sorts) {
+                ordersByRocket[code][sort.ordinal()] = reuse
+                        ? remapped(base.store().ordersByRocket[code][sort.ordinal()], base.oldToNew())
+                        : sorted(rowsByRocket[code], sort);
+            }
+        }
+
+        if (base == null) {
+            this.baseVersion = 0;
+            this.changedRocketIds = null;
+        } else {
+            Set<String> changed = new HashSet<>();
+            for (int code = 0; code < rocketIds.length; code++) {
+                if (base.affected()[code]) {
+                    changed.add(rocketIds[code]);
+                }
+            }
+            this.baseVersion = base.store().version;
+            this.changedRocketIds = Set.copyOf(changed);
+        }
+    }
+
+    /**
+     * Column arrays being filled for a new store.
+     */
+    private static final class Columns {
+        private final String[] ids;
+        private final String[] names;
+        private final int[] rocketCodes;
+        private final long[] dateUnix;
+        private final String[] dates;
+        private final String[] launchpadIds;
+        private final String[][] payloadIds;
+        private final List<String> rocketIds;
+        private final Map<String, Integer> rocketCodeById;
+        private final Map<String, String> pool = new HashMap<>();
+
+        private Columns(int size, List<String> rocketIds, Map<String, Integer> rocketCodeById) {
+            this.ids = new String[size];
+            this.names = new String[size];
+            this.rocketCodes = new int[size];
+            this.dateUnix = new long[size];
+            this.dates = new String[size];
+            this.launchpadIds = new String[size];
+            this.payloadIds = new String[size][];
+            this.rocketIds = rocketIds;
+            this.rocketCodeById = rocketCodeById;
+        }
+
+        private void set(int row, LaunchRow launch) {
+            ids[row] = launch.id();
+            names[row] = launch.name() == null ? null : pool.computeIfAbsent(launch.name(), name -> name);
+            if (launch.rocket() == null) {
+                rocketCodes[row] = NO_ROCKET;
+            } else {
+                rocketCodes[row] = rocketCodeById.computeIfAbsent(launch.rocket(), rocket -> {
+                    rocketIds.add(rocket);
+                    return rocketIds.size() - 1;
+                });
+            }
+            dateUnix[row] = launch.dateUnix() == null ? NO_DATE : launch.dateUnix();
+            // Many launches share a day, so share the formatted string as well
+            dates[row] = pool.computeIfAbsent(formatDate(dateUnix[row]), date -> date);
+            // A handful of launchpads serve every launch
+            launchpadIds[row] = launch.launchpad() == null ? null
+                    : pool.computeIfAbsent(launch.launchpad(), launchpad -> launchpad);
+            payloadIds[row] = launch.payloads().isEmpty() ? NO_PAYLOADS : launch.payloads().toArray(String[]::new);
+        }
+
+        private void copy(int row, LaunchStore from, int fromRow) {
+            // Rocket codes are kept stable across updates, so the code carries over as is
+            ids[row] = from.ids[fromRow];
+            names[row] = from.names[fromRow];
+            rocketCodes[row] = from.rocketCodes[fromRow];
+            dateUnix[row] = from.dateUnix[fromRow];
+            dates[row] = from.dates[fromRow];
+            launchpadIds[row] = from.launchpadIds[fromRow];
+            payloadIds[row] = from.payloadIds[fromRow];
+        }
+
+        private LaunchStore build(Base base) {
+            return new LaunchStore(ids, names, rocketCodes, dateUnix, dates, launchpadIds, payloadIds,
+                    rocketIds.toArray(String[]::new), Map.copyOf(rocketCodeById), base);
+        }
+    }
+
+    /**
+     * Builds a store from projected upstream launches.
+     *
+     * @param launches launches in upstream order
+     * @return the columnar store
+     */
+    public static LaunchStore of(List<LaunchRow> launches) {
+        Columns columns = new Columns(launches.size(), new ArrayList<>(), new HashMap<>());
+        for (int row = 0; row < launches.size(); row++) {
+            columns.set(row, launches.get(row));
+        }
+        return columns.build(null);
+    }
+
+    /**
+     * Applies a new upstream launch list to this store, doing work in proportion to what changed.
+     * Each launch is matched to this store's row with the same id and compared field by field;
+     * unchanged rows are copied over with their formatted dates and keep their place in the sort orders,
+     * so only added and changed launches are formatted and sorted.
+     *
+     * @param launches the new launches in upstream order
+     * @return this store if no launch was added, changed or removed; otherwise the updated store
+     */
+    public LaunchStore update(List<LaunchRow> launches) {
+        Map<String, Integer> rowById = new HashMap<>(ids.length * 4 / 3 + 1);
+        for (int row = 0; row < ids.length; row++) {
+            rowById.putIfAbsent(ids[row], row);
+        }
+        // Existing rockets keep their codes, so rows of unaffected rockets need no re-encoding
+        Columns columns = new Columns(launches.size(), new ArrayList<>(Arrays.asList(rocketIds)),
+                new HashMap<>(rocketCodeById));
+        int[] oldToNew = new int[ids.length];
+        Arrays.fill(oldToNew, -1);
+        int[] freshRows = new int[launches.size()];
+        int freshCount = 0;
+        boolean reordered = false;
+        int lastOldRow = -1;
+        for (int row = 0; row < launches.size(); row++) {
+            LaunchRow launch = launches.get(row);
+            Integer oldRow = rowById.get(launch.id());
+            if (oldRow != null && oldToNew[oldRow] == -1 && sameLaunch(oldRow, launch)) {
+                oldToNew[oldRow] = row;
+                columns.copy(row, this, oldRow);
+                reordered |= oldRow < lastOldRow;
+                lastOldRow = oldRow;
+            } else {
+                columns.set(row, launch);
+                freshRows[freshCount++] = row;
+            }
+        }
+        if (freshCount == 0 && launches.size() == ids.length && !reordered) {
+            return this;
+        }
+
+        boolean[] affected = new boolean[columns.rocketIds.size()];
+        if (reordered) {
+            // Upstream order is visible in every rocket's launch list, so a reorder affects them all
+            Arrays.fill(affected, true);
+        }
+        for (int oldRow = 0; oldRow < ids.length; oldRow++) {
+            if (oldToNew[oldRow] == -1 && rocketCodes[oldRow] != NO_ROCKET) {
+                affected[rocketCodes[oldRow]] = true;
+            }
+        }
+        for (int i = 0; i < freshCount; i++) {
+            int code = columns.rocketCodes[freshRows[i]];
+            if (code != NO_ROCKET) {
+                affected[code] = true;
+            }
+        }
+        return columns.build(new Base(this, oldToNew, Arrays.copyOf(freshRows, freshCount), affected));
+    }
+
+    /**
+     * Returns the rockets whose launches changed between an earlier store and this one.
+     *
+     * @param earlier a store this one may have been derived from
+     * @return the ids of rockets with added, changed or removed launches, or null if this store was not
+     * derived from {@code earlier} by {@link #update(List)} and any rocket may have changed
+     */
+    public Set<String> changedRocketIdsSince(LaunchStore earlier) {
+        return earlier != null && baseVersion == earlier.version ? changedRocketIds : null;
+    }
+
+    private boolean sameLaunch(int row, LaunchRow launch) {
+        long launchDate = launch.dateUnix() == null ? NO_DATE : launch.dateUnix();
+        return dateUnix[row] == launchDate
+                && Objects.equals(names[row], launch.name())
+                && Objects.equals(rocketId(row), launch.rocket())
+                && Objects.equals(launchpadIds[row], launch.launchpad())
+                && Arrays.asList(payloadIds[row]).equals(launch.payloads());
+    }
+
+    /**
+     * Formats a launch timestamp for display.
+     *
+     * @param dateUnix the Unix timestamp of the launch, or {@link #NO_DATE}
+     * @return the date in "MMM dd, yyyy" format, or an empty string when unknown
+     */
+    static String formatDate(long dateUnix) {
+        // Some launches may not have a date_unix field; return empty string to keep mapping safe
+        if (dateUnix == NO_DATE) {
+            return "";
+        }
+        return DATE_FORMAT.format(Instant.ofEpochSecond(dateUnix));
+    }
+
+    /**
+     * Returns the number of launches in the store.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the dictionary code of a rocket id.
+     *
+     * @param rocketId the rocket id
+     * @return the code, or {@link #NO_ROCKET} if the rocket has no launches
+     */
+    int rocketCode(String rocketId) {
+        Integer code = rocketId == null ? null : rocketCodeById.get(rocketId);
+        return code == null ? NO_ROCKET : code;
+    }
+
+    /**
+     * Returns the row indexes of a rocket's launches in upstream order.
+     * The returned array is shared and must not be modified.
+     *
+     * @param rocketCode the rocket's dictionary code
+     * @return the rows, empty for {@link #NO_ROCKET}
+     */
+    int[] rowsOf(int rocketCode) {
+        return rocketCode == NO_ROCKET ? NO_ROWS : rowsByRocket[rocketCode];
+    }
+
+    /**
+     * Returns the number of distinct rockets with launches; their codes are 0 to this count exclusive.
+     *
+     * @return the rocket dictionary size
+     */
+    int rocketCount() {
+        return rocketIds.length;
+    }
+
+    String rocketIdOf(int rocketCode) {
+        return rocketIds[rocketCode];
+    }
+
+    int rocketCodeOf(int row) {
+        return rocketCodes[row];
+    }
+
+    String id(int row) {
+        return ids[row];
+    }
+
+    String name(int row) {
+        return names[row];
+    }
+
+    String rocketId(int row) {
+        int code = rocketCodes[row];
+        return code == NO_ROCKET ? null : rocketIds[code];
+    }
+
+    long dateUnix(int row) {
+        return dateUnix[row];
+    }
+
+    String date(int row) {
+        return dates[row];
+    }
+
+    String launchpadId(int row) {
+        return launchpadIds[row];
+    }
+
+    /**
+     * Returns the payload ids of a launch. The returned array is shared and must not be modified.
+     *
+     * @param row the row index
+     * @return the payload ids, empty if none are known
+     */
+    String[] payloadIds(int row) {
+        return payloadIds[row];
+    }
+
+    /**
+     * Maps one row to its API representation.
+     *
+     * @param row the row index
+     * @return the launch DTO
+     */
+    LaunchDTO toDTO(int row) {
+        return new LaunchDTO(ids[row], names[row], rocketId(row), dates[row]);
+    }
+
+    /**
+     * Maps an upstream launch that is not held in a store to its API representation.
+     *
+     * @param launch the projected upstream launch
+     * @return the launch DTO
+     */
+    static LaunchDTO toDTO(LaunchRow launch) {
+        return new LaunchDTO(launch.id(), launch.name(), launch.rocket(),
+                formatDate(launch.dateUnix() == null ? NO_DATE : launch.dateUnix()));
+    }
+
+    /**
+     * Returns one page of launches in the given order, optionally limited to one rocket and a date range.
+     * Pages are addressed by keyset cursors, so a page stays stable while launches are added or removed
+     * before it. With {@link Sort#DATE} the date range and the cursor are both located by binary search;
+     * other orders skip launches outside the range while reading the page.
+     *
+     * @param rocketId   the rocket to list, or null for every launch
+     * @param sort       the order
+     * @param descending whether to list in descending order
+     * @param from       first Unix timestamp to include, or {@link Long#MIN_VALUE} for no lower bound
+     * @param to         first Unix timestamp to exclude, or {@link Long#MAX_VALUE} for no upper bound
+     * @param after      the cursor returned with the previous page, or null for the first page
+     * @param limit      the maximum number of launches on the page
+     * @return the page
+     * @throws IllegalArgumentException if the cursor belongs to a different order
+     */
+    public Page page(String rocketId, Sort sort, boolean descending, long from, long to, Cursor after, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        if (after != null && after.sort() != sort) {
+            throw new IllegalArgumentException("Cursor belongs to sort order " + after.sort());
+        }
+        int[] order;
+        if (rocketId == null) {
+            order = orders[sort.ordinal()];
+        } else {
+            int code = rocketCode(rocketId);
+            order = code == NO_ROCKET ? NO_ROWS : ordersByRocket[code][sort.ordinal()];
+        }
+        boolean ranged = from != Long.MIN_VALUE || to != Long.MAX_VALUE;
+        // Launches without a date never fall inside a range; NO_DATE sorts first, so raising the bound skips them
+        long lower = ranged ? Math.max(from, NO_DATE + 1) : from;
+        int lo = 0;
+        int hi = order.length;
+        if (ranged && sort == Sort.DATE) {
+            lo = lowerBound(order, 0, order.length, row -> dateUnix[row] < lower);
+            hi = lowerBound(order, lo, order.length, row -> dateUnix[row] < to);
+            ranged = false;
+        }
+        if (after != null) {
+            // First row past the cursor in ascending order, or last row before it in descending order
+            if (descending) {
+                hi = lowerBound(order, lo, hi, row -> compareToCursor(row, after) < 0);
+            } else {
+                lo = lowerBound(order, lo, hi, row -> compareToCursor(row, after) <= 0);
+            }
+        }
+
+        List<LaunchDTO> launches = new ArrayList<>(Math.min(limit, hi - lo));
+        int last = -1;
+        int step = descending ? -1 : 1;
+        for (int i = descending ? hi - 1 : lo; i >= lo && i < hi; i += step) {
+            int row = order[i];
+            if (ranged && (dateUnix[row] < lower || dateUnix[row] >= to)) {
+                continue;
+            }
+            if (launches.size() == limit) {
+                // One more matching row exists, so there is a next page
+                return new Page(Collections.unmodifiableList(launches), cursorOf(last, sort));
+            }
+            launches.add(toDTO(row));
+            last = row;
+        }
+        return new Page(Collections.unmodifiableList(launches), null);
+    }
+
+    private Cursor cursorOf(int row, Sort sort) {
+        return switch (sort) {
+            case DATE -> new Cursor(sort, dateUnix[row], null, ids[row]);
+            case NAME -> new Cursor(sort, 0, names[row], ids[row]);
+            case ID -> new Cursor(sort, 0, ids[row], ids[row]);
+        };
+    }
+
+    private int[] sorted(int[] rows, Sort sort) {
+        return Arrays.stream(rows).boxed()
+                .sorted((a, b) -> compareRows(a, b, sort))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Merges two row lists that are each already in the given order.
+     */
+    private int[] merged(int[] a, int[] b, Sort sort) {
+        int[] rows = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < rows.length; k++) {
+            rows[k] = j == b.length || (i < a.length && compareRows(a[i], b[j], sort) <= 0) ? a[i++] : b[j++];
+        }
+        return rows;
+    }
+
+    /**
+     * Maps base rows to their new row indexes, dropping rows without one and keeping the order.
+     */
+    private static int[] remapped(int[] baseRows, int[] oldToNew) {
+        int[] rows = new int[baseRows.length];
+        int count = 0;
+        for (int baseRow : baseRows) {
+            if (oldToNew[baseRow] != -1) {
+                rows[count++] = oldToNew[baseRow];
+            }
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    private int compareRows(int a, int b, Sort sort) {
+        int byKey = switch (sort) {
+            case DATE -> Long.compare(dateUnix[a], dateUnix[b]);
+            case NAME -> compareText(names[a], names[b]);
+            case ID -> 0;
+        };
+        return byKey != 0 ? byKey : compareText(ids[a], ids[b]);
+    }
+
+    private int compareToCursor(int row, Cursor cursor) {
+        int byKey = switch (cursor.sort()) {
+            case DATE -> Long.compare(dateUnix[row], cursor.dateUnix());
+            case NAME -> compareText(names[row], cursor.text());
+            case ID -> 0;
+        };
+        return byKey != 0 ? byKey : compareText(ids[row], cursor.id());
+    }
+
+    /**
+     * Compares nullable strings, nulls first.
+     */
+    private static int compareText(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    /**
+     * Returns the first index in [lo, hi) whose row does not satisfy {@code before};
+     * rows satisfying it must form a prefix of the range.
+     */
+    private static int lowerBound(int[] order, int lo, int hi, IntPredicate before) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (before.test(order[mid])) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int[] allRows(int size) {
+        int[] rows = new int[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the launches of a rocket in upstream order.
+     *
+     * @param rocketId the rocket id
+     * @return the launches, empty if the rocket has none
+     */
+    public List<LaunchDTO> launchesOf(String rocketId) {
+        int[] rows = rowsOf(rocketCode(rocketId));
+        LaunchDTO[] launches = new LaunchDTO[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            launches[i] = toDTO(rows[i]);
+        }
+        return Collections.unmodifiableList(Arrays.asList(launches));
+    }
+}
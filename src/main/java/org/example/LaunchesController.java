@@ -1,17 +1,33 @@
 package org.example;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.beans.factory.annotation.Autowired;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
-import java.time.Instant;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * REST Controller for handling SpaceX launches related endpoints.
@@ -24,98 +40,6 @@ import java.util.Locale;
 @RestController
 @RequestMapping("/api/launches")
 public class LaunchesController {
-    /**
-     * Internal class representing a SpaceX launch.
-     * Includes basic launch information such as ID, name, rocket, and date.
-     */
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    private static class Launch {
-        private String id;
-        private String name;
-        private String rocket;
-        /**
-         * The Unix timestamp of the launch date.
-         * Stored as Integer to match SpaceX API format.
-         */
-        private Integer date_unix;
-
-        /**
-         * Default constructor for Launch class.
-         * Required for JSON deserialization.
-         */
-        public Launch() {
-        }
-
-        /**
-         * Gets the unique identifier of the launch.
-         *
-         * @return the launch ID
-         */
-        public String getId() {
-            return id;
-        }
-
-        /**
-         * Sets the unique identifier of the launch.
-         *
-         * @param id the launch ID to set
-         */
-        public void setId(String id) {
-            this.id = id;
-        }
-
-        /**
-         * Gets the name of the launch.
-         *
-         * @return the launch name
-         */
-        public String getName() {
-            return name;
-        }
-
-        /**
-         * Sets the name of the launch.
-         *
-         * @param name the launch name to set
-         */
-        public void setName(String name) {
-            this.name = name;
-        }
-
-        /**
-         * Gets the rocket identifier used for the launch.
-         *
-         * @return the rocket ID
-         */
-        public String getRocket() {
-            return rocket;
-        }
-
-        /**
-         * Sets the rocket identifier for the launch.
-         *
-         * @param rocket the rocket ID to set
-         */
-        public void setRocket(String rocket) {
-            this.rocket = rocket;
-        }
-
-        public String getDate() {
-            // Some launches may not have a date_unix field; return empty string to keep mapping safe
-            if (this.date_unix == null) {
-                return "";
-            }
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd, yyyy", Locale.US);
-            return Instant.ofEpochSecond(this.date_unix)
-                    .atZone(ZoneId.of("America/New_York"))
-                    .format(formatter);
-        }
-
-        public void setDate_unix(Integer dateUnix) {
-            this.date_unix = dateUnix;
-        }
-    }
-
     /**
      * Data Transfer Object for launch information.
      * Contains simplified launch data for API responses.
@@ -130,51 +54,237 @@ public class LaunchesController {
     }
 
     /**
-     * Service for accessing SpaceX API endpoints.
-     * Handles all HTTP communications with the SpaceX API.
+     * One page of a sorted launch listing.
+     *
+     * @param launches   The launches on this page
+     * @param nextCursor Opaque cursor to pass as {@code cursor} for the next page, null on the last page
+     * @since 1.0
+     */
+    public record LaunchPageDTO(List<LaunchDTO> launches, String nextCursor) {
+    }
+
+    /**
+     * Largest page a client may request.
      */
-    private final SpaceXRocketsApi spaceXRocketsApi;
+    private static final int MAX_PAGE_SIZE = 100;
 
     /**
-     * JSON object mapper for data serialization/deserialization.
-     * Thread-safe instance used for converting JSON data to Java objects.
+     * In-memory launch snapshot, indexed by rocket id.
+     * Serves lookups without any upstream I/O on the request path.
      */
-    private final ObjectMapper objectMapper;
+    private final LaunchSnapshotService launchSnapshotService;
+
+    /**
+     * Writer for single launches in the streaming formats; thread-safe and reused across requests.
+     */
+    private static final ObjectWriter LAUNCH_WRITER = new ObjectMapper().writerFor(LaunchDTO.class);
+
+    private static final byte[] SSE_DATA = "data: ".getBytes(StandardCharsets.US_ASCII);
+
+    private final SpaceXMetrics metrics;
+
+    public LaunchesController(LaunchSnapshotService launchSnapshotService) {
+        this(launchSnapshotService, new SpaceXMetrics(new SimpleMeterRegistry()));
+    }
 
     @Autowired
-    public LaunchesController(SpaceXRocketsApi spaceXRocketsApi) {
-        this.spaceXRocketsApi = spaceXRocketsApi;
-        this.objectMapper = new ObjectMapper();
+    public LaunchesController(LaunchSnapshotService launchSnapshotService, SpaceXMetrics metrics) {
+        this.launchSnapshotService = launchSnapshotService;
+        this.metrics = metrics;
     }
 
     /**
      * Retrieves all launches for a specific rocket ID.
-     * Filters the complete launch data set to return only launches
-     * associated with the specified rocket.
+     * Served from the in-memory launch snapshot, which is kept
+     * grouped by rocket id and refreshed in the background.
      *
      * @param rocketId The ID of the rocket to filter launches by (cannot be null)
      * @return List of launches associated with the specified rocket, may be empty but never null
      * @throws Exception if there's an error retrieving or processing the launch data
      * @since 1.0
      */
-    @GetMapping(value = "/id/{rocketId}", produces = "application/json")
+    @GetMapping(value = "/id/{rocketId}", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.SMILE_VALUE, BinaryFormatsConfig.MSGPACK_VALUE})
     @ResponseBody
     protected List<LaunchDTO> id(@PathVariable String rocketId) throws Exception {
-        String data = this.spaceXRocketsApi.getAllLaunchesData();
-        List<Launch> launches = objectMapper.readValue(data, new TypeReference<List<Launch>>() {
-        });
-        List<LaunchDTO> filteredLaunches = launches.stream()
-                // Use null-safe comparison in case some entries miss the rocket field
-                .filter(launch -> rocketId.equals(launch.getRocket()))
-                .map(launch -> new LaunchDTO(
-                        launch.getId(),
-                        launch.getName(),
-                        launch.getRocket(),
-                        launch.getDate()
-                ))
-                .toList();
+        List<LaunchDTO> filteredLaunches = this.launchSnapshotService.getLaunches(rocketId);
+        metrics.launchesReturned(filteredLaunches.size());
         return filteredLaunches.isEmpty()
                 ? List.of(new LaunchDTO("", "No Launches", "", ""))
                 : filteredLaunches;
     }
+
+    /**
+     * Streams the launches of a specific rocket as newline-delimited JSON, one launch per line.
+     * Each launch is written and flushed as soon as it is available, so the first bytes
+     * leave before the whole listing is read and memory stays constant in the number of launches.
+     * A rocket without launches yields an empty body.
+     *
+     * @param rocketId The ID of the rocket to filter launches by (cannot be null)
+     * @return the streaming response body
+     * @since 1.0
+     */
+    @GetMapping(value = "/id/{rocketId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody idNdjson(@PathVariable String rocketId) {
+        return out -> stream(rocketId, out, null);
+    }
+
+    /**
+     * Streams the launches of a specific rocket as Server-Sent Events, one {@code data:} event per launch.
+     * Events are flushed as they are produced, like {@link #idNdjson(String)}.
+     *
+     * @param rocketId The ID of the rocket to filter launches by (cannot be null)
+     * @return the streaming response body
+     * @since 1.0
+     */
+    @GetMapping(value = "/id/{rocketId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public StreamingResponseBody idEventStream(@PathVariable String rocketId) {
+        return out -> stream(rocketId, out, SSE_DATA);
+    }
+
+    /**
+     * Writes each launch of a rocket as one JSON document followed by a newline, optionally prefixed.
+     * An SSE event ends with a blank line, so prefixed records get a second newline.
+     */
+    private void stream(String rocketId, OutputStream out, byte[] prefix) throws IOException {
+        try {
+            this.launchSnapshotService.streamLaunches(rocketId, launch -> {
+                try {
+                    if (prefix != null) {
+                        out.write(prefix);
+                    }
+                    out.write(LAUNCH_WRITER.writeValueAsBytes(launch));
+                    out.write('\n');
+                    if (prefix != null) {
+                        out.write('\n');
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Lists launches page by page in a chosen order, optionally for one rocket and within a date range.
+     * Sort orders are precomputed per snapshot, so a page costs a binary search plus the page itself.
+     *
+     * @param rocketId Only list this rocket's launches; all launches if omitted
+     * @param sort     Sort field: date (default), name or id
+     * @param order    asc (default) or desc
+     * @param from     First launch date to include, as yyyy-MM-dd
+     * @param to       Last launch date to include, as yyyy-MM-dd
+     * @param cursor   The nextCursor of the previous page; omit for the first page
+     * @param limit    Page size, 1 to 100 (default 20)
+     * @return the page of launches and the cursor of the next page
+     * @since 1.0
+     */
+    @GetMapping(value = "/page", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.SMILE_VALUE, BinaryFormatsConfig.MSGPACK_VALUE})
+    @ResponseBody
+    public LaunchPageDTO page(@RequestParam(value = "rocketId", required = false) String rocketId,
+                              @RequestParam(value = "sort", defaultValue = "date") String sort,
+                              @RequestParam(value = "order", defaultValue = "asc") String order,
+                              @RequestParam(value = "from", required = false) String from,
+                              @RequestParam(value = "to", required = false) String to,
+                              @RequestParam(value = "cursor", required = false) String cursor,
+                              @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        LaunchStore.Sort launchSort = parseSort(sort);
+        boolean descending = switch (order.toLowerCase(Locale.ROOT)) {
+            case "asc" -> false;
+            case "desc" -> true;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "order must be asc or desc");
+        };
+        long fromUnix = from == null ? Long.MIN_VALUE : startOfDay(parseDate("from", from));
+        long toUnix = to == null ? Long.MAX_VALUE : startOfDay(parseDate("to", to).plusDays(1));
+        LaunchStore.Cursor after = cursor == null ? null : decodeCursor(cursor, launchSort);
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+
+        LaunchStore.Page page = this.launchSnapshotService.getStore()
+                .page(rocketId, launchSort, descending, fromUnix, toUnix, after, pageSize);
+        return new LaunchPageDTO(page.launches(), page.next() == null ? null : encodeCursor(page.next()));
+    }
+
+    private static LaunchStore.Sort parseSort(String sort) {
+        try {
+            return LaunchStore.Sort.valueOf(sort.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sort must be date, name or id");
+        }
+    }
+
+    private static LocalDate parseDate(String name, String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " must be a date in yyyy-MM-dd format");
+        }
+    }
+
+    private static long startOfDay(LocalDate date) {
+        return date.atStartOfDay(LaunchStore.DATE_ZONE).toEpochSecond();
+    }
+
+    /**
+     * Encodes a cursor as URL-safe Base64 of its sort, key and id.
+     */
+    static String encodeCursor(LaunchStore.Cursor cursor) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(cursor.sort().ordinal());
+            out.writeLong(cursor.dateUnix());
+            writeNullable(out, cursor.text());
+            writeNullable(out, cursor.id());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static LaunchStore.Cursor decodeCursor(String cursor, LaunchStore.Sort sort) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            int ordinal = in.readUnsignedByte();
+            if (ordinal != sort.ordinal()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor does not match the sort order");
+            }
+            return new LaunchStore.Cursor(sort, in.readLong(), readNullable(in), readNullable(in));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Retrieves the launches of several rockets in one call, grouped by rocket ID.
+     * Lets a dashboard load every rocket's launches with a single request.
+     *
+     * @param rocketIds Comma-separated rocket IDs, e.g. {@code ?rocketIds=a,b,c}
+     * @return Launches per requested rocket ID in request order; rockets without launches map to an empty list
+     * @throws Exception if there's an error retrieving or processing the launch data
+     * @since 1.0
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.SMILE_VALUE, BinaryFormatsConfig.MSGPACK_VALUE})
+    @ResponseBody
+    public Map<String, List<LaunchDTO>> byRocketIds(@RequestParam("rocketIds") String rocketIds) throws Exception {
+        Set<String> ids = new LinkedHashSet<>();
+        Arrays.stream(rocketIds.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .forEach(ids::add);
+        return this.launchSnapshotService.getLaunches(ids);
+    }
 }
@@ -3,15 +3,18 @@ package org.example;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 /**
  * Main application class that serves as the entry point for the SpaceX information web application.
  * This class initializes the Spring Boot application context and starts the server.
+ * Scheduling is enabled so data snapshots can be refreshed in the background.
  *
  * @since 1.0
  */
 @SpringBootApplication
+@EnableScheduling
 public class Main {
     /**
      * The main method that bootstraps the Spring Boot application.
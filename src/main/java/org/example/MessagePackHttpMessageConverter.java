@@ -0,0 +1,68 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes bodies as MessagePack.
+ * The MessagePack dataformat is only available for the Jackson 2 line, so this converter serializes with
+ * a Jackson 2 mapper; the field names and shapes are the same as in the JSON responses.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+class MessagePackHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+    private final ObjectMapper mapper = new ObjectMapper(new MessagePackFactory());
+
+    MessagePackHttpMessageConverter() {
+        super(BinaryFormatsConfig.MSGPACK);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    /**
+     * Writes only when MessagePack was negotiated explicitly. Custom converters are registered ahead of JSON,
+     * so offering MessagePack for an unspecified or wildcard type would let it win over JSON for bodies of
+     * endpoints without {@code produces}, such as error responses.
+     */
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return mediaType != null && mediaType.isConcrete() && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return mapper.readValue(inputMessage.getBody(), clazz);
+        } catch (com.fasterxml.jackson.core.JacksonException e) {
+            throw new HttpMessageNotReadableException("Invalid MessagePack body: " + e.getOriginalMessage(), e,
+                    inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        mapper.writeValue(outputMessage.getBody(), body);
+    }
+
+    @Override
+    protected boolean supportsRepeatableWrites(Object body) {
+        return true;
+    }
+
+    @Override
+    protected MediaType getDefaultContentType(Object body) {
+        return BinaryFormatsConfig.MSGPACK;
+    }
+}
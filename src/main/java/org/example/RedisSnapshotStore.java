@@ -0,0 +1,84 @@
+package org.example;
+
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.params.SetParams;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link SharedSnapshotStore} backed by Redis. For snapshot {@code name} it uses the keys:
+ * <ul>
+ *   <li>{@code spacex:snapshot:<name>:meta}: {@code <version>:<writtenAt>}</li>
+ *   <li>{@code spacex:snapshot:<name>:data:<version>}: the payload, expiring after a day</li>
+ *   <li>{@code spacex:snapshot:<name>:lock}: the refresh lock, set with NX and a PX expiry</li>
+ * </ul>
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+class RedisSnapshotStore implements SharedSnapshotStore {
+    private static final String PREFIX = "spacex:snapshot:";
+
+    /**
+     * How long a payload outlives the metadata that points at it, so a reader that just read
+     * the metadata still finds the payload after a newer version was written.
+     */
+    private static final long DATA_TTL_MS = 24 * 60 * 60 * 1000L;
+
+    private final JedisPooled redis;
+
+    /**
+     * @param uri       Redis URI, e.g. {@code redis://cache:6379}
+     * @param timeoutMs connect and read timeout
+     */
+    RedisSnapshotStore(URI uri, int timeoutMs) {
+        this.redis = new JedisPooled(uri, timeoutMs);
+    }
+
+    @Override
+    public Meta meta(String name) {
+        String meta = redis.get(PREFIX + name + ":meta");
+        if (meta == null) {
+            return null;
+        }
+        int separator = meta.lastIndexOf(':');
+        return new Meta(meta.substring(0, separator), Long.parseLong(meta.substring(separator + 1)));
+    }
+
+    @Override
+    public byte[] data(String name, String version) {
+        return redis.get(dataKey(name, version));
+    }
+
+    @Override
+    public void put(String name, String version, byte[] data, long writtenAt) {
+        redis.set(dataKey(name, version), data, SetParams.setParams().px(DATA_TTL_MS));
+        redis.set(PREFIX + name + ":meta", version + ":" + writtenAt);
+    }
+
+    @Override
+    public boolean tryLock(String name, String token, long ttlMs) {
+        return "OK".equals(redis.set(PREFIX + name + ":lock", token, SetParams.setParams().nx().px(ttlMs)));
+    }
+
+    @Override
+    public void unlock(String name, String token) {
+        // Not atomic: if the lock expires between the two calls, another holder's lock is dropped
+        // early, which at worst lets one more replica refresh from upstream
+        String key = PREFIX + name + ":lock";
+        if (token.equals(redis.get(key))) {
+            redis.del(key);
+        }
+    }
+
+    @Override
+    public void close() {
+        redis.close();
+    }
+
+    private static byte[] dataKey(String name, String version) {
+        return (PREFIX + name + ":data:" + version).getBytes(StandardCharsets.UTF_8);
+    }
+}
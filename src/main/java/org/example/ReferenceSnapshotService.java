@@ -0,0 +1,164 @@
+package org.example;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service holding in-memory snapshots of the SpaceX launchpad and payload names, keyed by id,
+ * so launches can be joined to them without upstream lookups.
+ * Both change rarely and are refreshed in the background on their own, longer interval;
+ * a {@link SnapshotChangedEvent} for {@link SnapshotChangedEvent#NAMES} is published when either changed.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class ReferenceSnapshotService {
+    /**
+     * Snapshot type, for decoding the shared copy held by {@link SnapshotCache}.
+     */
+    private static final TypeReference<Map<String, String>> NAMES_TYPE = new TypeReference<>() {
+    };
+
+    /**
+     * Launchpad and payload names, replaced together.
+     *
+     * @param launchpads launchpad name by launchpad id
+     * @param payloads   payload name by payload id
+     */
+    public record Names(Map<String, String> launchpads, Map<String, String> payloads) {
+    }
+
+    private final SpaceXRocketsApi spaceXRocketsApi;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SnapshotCache snapshotCache;
+
+    /**
+     * Serializes refreshes and the cold-start load.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Value("${spacex.names.refresh-interval-ms:3600000}")
+    private long refreshIntervalMs = 3600000;
+
+    @Value("${spacex.refresh.retry-min-ms:1000}")
+    private long retryMinMs = 1000;
+
+    private final RefreshSchedule schedule = new RefreshSchedule();
+
+    /**
+     * Null until the first successful load.
+     */
+    private volatile Names names;
+
+    public ReferenceSnapshotService(SpaceXRocketsApi spaceXRocketsApi) {
+        this(spaceXRocketsApi, event -> {
+        }, new SnapshotCache());
+    }
+
+    @Autowired
+    public ReferenceSnapshotService(SpaceXRocketsApi spaceXRocketsApi, ApplicationEventPublisher eventPublisher,
+                                    SnapshotCache snapshotCache) {
+        this.spaceXRocketsApi = spaceXRocketsApi;
+        this.eventPublisher = eventPublisher;
+        this.snapshotCache = snapshotCache;
+    }
+
+    /**
+     * Reloads the names from the SpaceX API when a refresh is due.
+     * A failed refresh keeps serving the previous names and is retried with exponential backoff.
+     */
+    @Scheduled(fixedDelayString = "${spacex.refresh.tick-ms:1000}")
+    public void scheduledRefresh() {
+        if (!schedule.isDue()) {
+            return;
+        }
+        try {
+            refresh();
+            schedule.succeeded(refreshIntervalMs);
+        } catch (Exception e) {
+            long retryMs = schedule.failed(retryMinMs, refreshIntervalMs);
+            System.err.println("Error refreshing launchpad and payload names, retrying in " + retryMs + " ms: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the launchpad and payload names and swaps them in if either changed.
+     *
+     * @throws org.springframework.web.client.RestClientException if the names cannot be fetched or parsed
+     */
+    public void refresh() {
+        lock.lock();
+        try {
+            Map<String, String> launchpads = this.snapshotCache.load("launchpads", refreshIntervalMs, NAMES_TYPE,
+                    this.spaceXRocketsApi::getLaunchpadNames);
+            Map<String, String> payloads = this.snapshotCache.load("payloads", refreshIntervalMs, NAMES_TYPE,
+                    this.spaceXRocketsApi::getPayloadNames);
+            Names current = this.names;
+            if (current != null && current.launchpads().equals(launchpads) && current.payloads().equals(payloads)) {
+                // Upstream answered 304 Not Modified for both, or the shared copies were decoded again unchanged
+                return;
+            }
+            this.names = new Names(launchpads, payloads);
+            this.eventPublisher.publishEvent(new SnapshotChangedEvent(SnapshotChangedEvent.NAMES));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current names, loading them synchronously if no refresh has completed yet.
+     *
+     * @return launchpad and payload names
+     * @throws org.springframework.web.client.RestClientException if the initial load fails
+     */
+    public Names getNames() {
+        Names snapshot = this.names;
+        if (snapshot == null) {
+            UpstreamDeadline.lock(lock, "launchpad and payload names");
+            try {
+                if (this.names == null) {
+                    refresh();
+                }
+                snapshot = this.names;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the current names without triggering a load.
+     *
+     * @return the names, or null if nothing has been loaded yet
+     */
+    public Names snapshot() {
+        return this.names;
+    }
+
+    /**
+     * Seeds the names with previously persisted ones, unless live data has already been loaded.
+     *
+     * @param persisted names restored from disk
+     */
+    public void restore(Names persisted) {
+        lock.lock();
+        try {
+            if (this.names == null) {
+                this.names = persisted;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * When the next background refresh of a snapshot is due.
+ * A successful refresh waits the full refresh interval; after a failure the refresh is retried
+ * sooner, starting at the minimum retry delay and doubling per consecutive failure up to the interval.
+ * Meanwhile the snapshot keeps serving its last good data.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+final class RefreshSchedule {
+    private long nextDue = System.nanoTime();
+    private long retryDelayMs;
+
+    /**
+     * Whether a refresh should run now.
+     *
+     * @return true once the next refresh is due
+     */
+    synchronized boolean isDue() {
+        return System.nanoTime() - nextDue >= 0;
+    }
+
+    /**
+     * Records a successful refresh and schedules the next one a full interval away.
+     *
+     * @param intervalMs the refresh interval
+     */
+    synchronized void succeeded(long intervalMs) {
+        retryDelayMs = 0;
+        nextDue = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervalMs);
+    }
+
+    /**
+     * Records a failed refresh and schedules a retry with exponential backoff.
+     *
+     * @param retryMinMs the delay before the first retry
+     * @param intervalMs the refresh interval, which caps the delay
+     * @return the delay until the retry in milliseconds
+     */
+    synchronized long failed(long retryMinMs, long intervalMs) {
+        retryDelayMs = Math.min(retryDelayMs == 0 ? retryMinMs : retryDelayMs * 2, intervalMs);
+        nextDue = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryDelayMs);
+        return retryDelayMs;
+    }
+}
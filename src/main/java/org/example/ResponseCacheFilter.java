@@ -0,0 +1,279 @@
+package org.example;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servlet filter caching the serialized JSON (or negotiated binary format) of the rockets, launches,
+ * dashboard and search endpoints.
+ * A hit writes the stored bytes straight to the response (gzip-precompressed when the client accepts it)
+ * without running the controller or Jackson, and every response carries a strong ETag so
+ * browsers can revalidate with If-None-Match and receive 304 Not Modified. The gzip body is a different
+ * representation, so it carries its own tag: the identity tag suffixed with {@code -gzip}.
+ * When a {@link SnapshotChangedEvent} is published, entries scoped to rockets outside its change set
+ * are kept and every other entry is dropped.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+    /**
+     * Path prefixes whose GET responses are cached.
+     */
+    private static final String[] CACHED_PATHS = {"/api/rockets", "/api/launches", "/api/dashboard", "/api/search"};
+
+    /**
+     * Response content types that are cached.
+     */
+    private static final List<MediaType> CACHED_TYPES = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, BinaryFormatsConfig.SMILE, BinaryFormatsConfig.MSGPACK);
+
+    /**
+     * Stored response of one cache key.
+     *
+     * @param body        the serialized body
+     * @param gzipBody    the same body gzip-compressed
+     * @param etag        strong ETag of the body, quoted
+     * @param gzipEtag    strong ETag of the gzip body, quoted
+     * @param contentType the response content type
+     * @param rocketIds   the rockets the response is about, or null if it may depend on any data
+     */
+    private record Entry(byte[] body, byte[] gzipBody, String etag, String gzipEtag, String contentType,
+                         Set<String> rocketIds) {
+    }
+
+    /**
+     * Entries computed against one generation of the underlying snapshots.
+     * Invalidation swaps in a fresh generation, so a response computed from old data
+     * can only ever land in a generation that is no longer served.
+     * Keys include the raw query string, so a burst of distinct queries must not fill a generation for good:
+     * entries are bounded in number, and beyond the bound the least valuable are evicted.
+     */
+    private static final class Generation {
+        private final Cache<String, Entry> entries;
+
+        private Generation(long maxEntries) {
+            this.entries = Caffeine.newBuilder().maximumSize(maxEntries).build();
+        }
+    }
+
+    private final long maxEntries;
+
+    private volatile Generation generation;
+
+    private final SpaceXMetrics metrics;
+
+    public ResponseCacheFilter() {
+        this(new SpaceXMetrics(new SimpleMeterRegistry()));
+    }
+
+    public ResponseCacheFilter(SpaceXMetrics metrics) {
+        this(metrics, 1000);
+    }
+
+    @Autowired
+    public ResponseCacheFilter(SpaceXMetrics metrics,
+                               @Value("${spacex.response-cache.max-entries:1000}") long maxEntries) {
+        this.metrics = metrics;
+        this.maxEntries = maxEntries;
+        this.generation = new Generation(maxEntries);
+    }
+
+    /**
+     * Drops the cached responses the change may have made stale; called when rockets or launches data changed.
+     *
+     * @param event the snapshot change
+     */
+    @EventListener
+    public void onSnapshotChanged(SnapshotChangedEvent event) {
+        Generation previous = this.generation;
+        Generation next = new Generation(maxEntries);
+        if (event.rocketIds() != null) {
+            previous.entries.asMap().forEach((key, entry) -> {
+                if (entry.rocketIds() != null && entry.rocketIds().stream().noneMatch(event::affects)) {
+                    next.entries.put(key, entry);
+                }
+            });
+        }
+        this.generation = next;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || isStreaming(request)) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String prefix : CACHED_PATHS) {
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = cacheKey(request);
+        Generation current = this.generation;
+        Entry entry = current.entries.getIfPresent(key);
+        if (entry != null) {
+            metrics.cacheHit();
+            writeEntry(entry, request, response);
+            return;
+        }
+        metrics.cacheMiss();
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || contentType == null || !isCached(contentType)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        byte[] body = wrapper.getContentAsByteArray();
+        String etag = etag(body);
+        entry = new Entry(body, gzip(body), etag, gzipEtag(etag), contentType, rocketScope(request));
+        current.entries.put(key, entry);
+        writeEntry(entry, request, response);
+    }
+
+    private static boolean isCached(String contentType) {
+        MediaType type = MediaType.parseMediaType(contentType);
+        return CACHED_TYPES.stream().anyMatch(cached -> cached.isCompatibleWith(type));
+    }
+
+    /**
+     * Whether the client negotiates a streaming representation; buffering it here would defeat the streaming.
+     */
+    private static boolean isStreaming(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && (accept.contains(MediaType.APPLICATION_NDJSON_VALUE)
+                || accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE));
+    }
+
+    /**
+     * Returns the rockets a request is limited to, from its path variable or rocket id parameters.
+     *
+     * @return the rocket ids, or null if the response may depend on any rocket
+     */
+    private static Set<String> rocketScope(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/launches/id/")) {
+            return Set.of(path.substring("/api/launches/id/".length()));
+        }
+        if (path.startsWith("/api/rockets/") && path.endsWith("/stats") && !path.equals("/api/rockets/stats")) {
+            return Set.of(path.substring("/api/rockets/".length(), path.length() - "/stats".length()));
+        }
+        if ((path.equals("/api/launches/page") || path.equals("/api/launches/enriched"))
+                && request.getParameter("rocketId") != null) {
+            return Set.of(request.getParameter("rocketId"));
+        }
+        if (path.equals("/api/launches") && request.getParameter("rocketIds") != null) {
+            return Set.copyOf(Arrays.asList(request.getParameter("rocketIds").split(",")));
+        }
+        return null;
+    }
+
+    /**
+     * Builds the cache key: path (including path variables), query string and the Accept header.
+     */
+    private static String cacheKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return request.getRequestURI() + (query == null ? "" : "?" + query) + "|" + (accept == null ? "" : accept);
+    }
+
+    private static void writeEntry(Entry entry, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip")
+                && entry.gzipBody().length < entry.body().length;
+        response.setHeader(HttpHeaders.ETAG, gzip ? entry.gzipEtag() : entry.etag());
+        // The format is negotiated from Accept and the coding from Accept-Encoding
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), entry)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(entry.contentType());
+        byte[] bytes = entry.body();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            bytes = entry.gzipBody();
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    /**
+     * Whether If-None-Match names the entry in either coding; both decode to the same content.
+     */
+    private static boolean matches(String ifNoneMatch, Entry entry) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(entry.etag()) || trimmed.equals(entry.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Derives the tag of the gzip body from the quoted identity tag.
+     */
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,12 +1,44 @@
 package org.example;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ManagedHttpClientConnection;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.io.HttpConnectionFactory;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Configuration class for setting up RestTemplate beans.
- * Provides configuration for HTTP client communication within the application.
+ * Provides configuration for HTTP client communication within the application:
+ * a pooled, keep-alive Apache HttpClient with gzip negotiation and bounded timeouts.
  *
  * @author Michael Harris
  * @version 1.0
@@ -15,15 +47,245 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${spacex.http.max-connections-total:50}")
+    private int maxConnectionsTotal = 50;
+
+    @Value("${spacex.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute = 20;
+
+    @Value("${spacex.http.keep-alive-ms:30000}")
+    private long keepAliveMs = 30000;
+
+    @Value("${spacex.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs = 2000;
+
+    @Value("${spacex.http.read-timeout-ms:5000}")
+    private long readTimeoutMs = 5000;
+
+    @Value("${spacex.http.connection-request-timeout-ms:1000}")
+    private long connectionRequestTimeoutMs = 1000;
+
+    @Value("${spacex.http.total-timeout-ms:10000}")
+    private long totalTimeoutMs = 10000;
+
+    @Value("${spacex.http.gzip:true}")
+    private boolean gzip = true;
+
+    /**
+     * Connection reuse statistics of the upstream HTTP client.
+     *
+     * @return the shared statistics holder
+     */
+    @Bean
+    public HttpClientStats httpClientStats() {
+        return new HttpClientStats();
+    }
+
     /**
      * Creates and configures a RestTemplate bean for HTTP client operations.
      * This template is used for making REST API calls throughout the application.
      *
-     * @return A new instance of RestTemplate configured for HTTP operations
+     * @return A new instance of RestTemplate backed by the pooled HTTP client
      * @since 1.0
      */
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        return restTemplate(httpClientStats());
+    }
+
+    /**
+     * Creates a RestTemplate whose HTTP client reports into the given statistics.
+     *
+     * @param stats receives request and connection counts
+     * @return A new instance of RestTemplate backed by the pooled HTTP client
+     */
+    RestTemplate restTemplate(HttpClientStats stats) {
+        HttpConnectionFactory<ManagedHttpClientConnection> connectionFactory = new HttpConnectionFactory<>() {
+            @Override
+            public ManagedHttpClientConnection createConnection(Socket socket) throws IOException {
+                stats.recordConnectionCreated();
+                return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+            }
+
+            @Override
+            public ManagedHttpClientConnection createConnection(SSLSocket sslSocket, Socket socket) throws IOException {
+                stats.recordConnectionCreated();
+                return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(sslSocket, socket);
+            }
+        };
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setConnectionFactory(connectionFactory)
+                .setMaxConnTotal(maxConnectionsTotal)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        stats.bind(connectionManager);
+
+        HttpClientBuilder builder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                // Never keep a connection longer than configured, even if the server allows more
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .addRequestInterceptorFirst((request, entity, context) -> stats.recordRequest());
+        if (!gzip) {
+            builder.disableContentCompression();
+        }
+        CloseableHttpClient httpClient = builder.build();
+
+        return new RestTemplate(new DeadlineRequestFactory(httpClient, totalTimeoutMs));
+    }
+
+    /**
+     * Request factory that cancels any request still running after the total timeout, or at the caller's
+     * {@link UpstreamDeadline} if that comes first, bounding the whole exchange rather than each individual socket read.
+     * The deadline is cancelled, and removed from the scheduler, as soon as the response is closed
+     * or the request fails, so finished requests do not stay reachable until their deadline.
+     */
+    static class DeadlineRequestFactory extends HttpComponentsClientHttpRequestFactory {
+        private static final ScheduledThreadPoolExecutor DEADLINES = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "upstream-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            DEADLINES.setRemoveOnCancelPolicy(true);
+        }
+
+        /**
+         * Hands the deadline scheduled in {@link #postProcessHttpRequest} to {@link #createRequest},
+         * which runs it on the same thread.
+         */
+        private static final ThreadLocal<ScheduledFuture<?>> SCHEDULED = new ThreadLocal<>();
+
+        private final long totalTimeoutMs;
+
+        DeadlineRequestFactory(CloseableHttpClient httpClient, long totalTimeoutMs) {
+            super(httpClient);
+            this.totalTimeoutMs = totalTimeoutMs;
+        }
+
+        /**
+         * Returns the number of deadlines still scheduled.
+         *
+         * @return pending deadlines across all factories
+         */
+        static int pendingDeadlines() {
+            return DEADLINES.getQueue().size();
+        }
+
+        @Override
+        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+            ClientHttpRequest request;
+            ScheduledFuture<?> deadline;
+            try {
+                request = super.createRequest(uri, httpMethod);
+            } catch (IOException | RuntimeException e) {
+                cancel(SCHEDULED.get());
+                throw e;
+            } finally {
+                deadline = SCHEDULED.get();
+                SCHEDULED.remove();
+            }
+            return deadline == null ? request : new DeadlineRequest(request, deadline);
+        }
+
+        @Override
+        protected void postProcessHttpRequest(ClassicHttpRequest request) {
+            // A caller's UpstreamDeadline shortens the total timeout
+            long timeoutNanos = UpstreamDeadline.boundNanos(totalTimeoutMs);
+            if (timeoutNanos != Long.MAX_VALUE && request instanceof Cancellable cancellable) {
+                SCHEDULED.set(DEADLINES.schedule(cancellable::cancel, timeoutNanos, TimeUnit.NANOSECONDS));
+            }
+        }
+
+        private static void cancel(ScheduledFuture<?> deadline) {
+            if (deadline != null) {
+                deadline.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Request cancelling its deadline when it fails or its response is closed.
+     */
+    private record DeadlineRequest(ClientHttpRequest delegate, ScheduledFuture<?> deadline)
+            implements ClientHttpRequest {
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            ClientHttpResponse response;
+            try {
+                response = delegate.execute();
+            } catch (IOException | RuntimeException e) {
+                deadline.cancel(false);
+                throw e;
+            }
+            return new DeadlineResponse(response, deadline);
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return delegate.getAttributes();
+        }
+    }
+
+    private record DeadlineResponse(ClientHttpResponse delegate, ScheduledFuture<?> deadline)
+            implements ClientHttpResponse {
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                deadline.cancel(false);
+            }
+        }
     }
 }
@@ -0,0 +1,223 @@
+package org.example;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.example.SpaceXJsonReader.RocketRow;
+
+/**
+ * Service holding an in-memory snapshot of all SpaceX rockets.
+ * The snapshot is refreshed in the background and a {@link SnapshotChangedEvent}
+ * is published whenever the upstream data actually changed.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class RocketSnapshotService {
+    /**
+     * Snapshot type, for decoding the shared copy held by {@link SnapshotCache}.
+     */
+    private static final TypeReference<List<RocketRow>> ROCKETS_TYPE = new TypeReference<>() {
+    };
+
+    private final SpaceXRocketsApi spaceXRocketsApi;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SnapshotCache snapshotCache;
+
+    /**
+     * Serializes refreshes and the cold-start load.
+     * A lock rather than a monitor, so virtual threads waiting on the upstream fetch do not pin their carrier.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Value("${spacex.rockets.refresh-interval-ms:300000}")
+    private long refreshIntervalMs = 300000;
+
+    @Value("${spacex.refresh.retry-min-ms:1000}")
+    private long retryMinMs = 1000;
+
+    private final RefreshSchedule schedule = new RefreshSchedule();
+
+    /**
+     * Sort orders supported by {@link #getRockets(String)}, keyed by the lower-case sort field.
+     * Rockets with a null key cannot be ordered by "id", "name" or "active" and keep upstream order.
+     */
+    private static final Map<String, Comparator<RocketRow>> SORTS = Map.of(
+            "id", Comparator.comparing(RocketRow::id),
+            "name", Comparator.comparing(RocketRow::name),
+            "active", (r1, r2) -> Boolean.compare(r1.active(), r2.active()),
+            "success_rate_pct", Comparator.comparing(RocketRow::successRatePct,
+                    Comparator.nullsLast(Comparator.reverseOrder())));
+
+    /**
+     * Rockets in every supported sort order, computed once per snapshot.
+     *
+     * @param source the snapshot the orders were computed from
+     * @param bySort sorted rockets keyed like {@link #SORTS}
+     */
+    private record SortedRockets(List<RocketRow> source, Map<String, List<RocketRow>> bySort) {
+    }
+
+    private volatile SortedRockets sorted;
+
+    /**
+     * Rockets in upstream order, replaced wholesale on every refresh.
+     * Null until the first successful load.
+     */
+    private volatile List<RocketRow> rockets;
+
+    public RocketSnapshotService(SpaceXRocketsApi spaceXRocketsApi) {
+        this(spaceXRocketsApi, event -> {
+        });
+    }
+
+    public RocketSnapshotService(SpaceXRocketsApi spaceXRocketsApi, ApplicationEventPublisher eventPublisher) {
+        this(spaceXRocketsApi, eventPublisher, new SnapshotCache());
+    }
+
+    @Autowired
+    public RocketSnapshotService(SpaceXRocketsApi spaceXRocketsApi, ApplicationEventPublisher eventPublisher,
+                                 SnapshotCache snapshotCache) {
+        this.spaceXRocketsApi = spaceXRocketsApi;
+        this.eventPublisher = eventPublisher;
+        this.snapshotCache = snapshotCache;
+    }
+
+    /**
+     * Reloads the rocket snapshot from the SpaceX API when a refresh is due.
+     * Runs on startup and then on the configured interval. A failed refresh keeps serving the previous
+     * snapshot and is retried with exponential backoff, starting at {@code spacex.refresh.retry-min-ms}.
+     */
+    @Scheduled(fixedDelayString = "${spacex.refresh.tick-ms:1000}")
+    public void scheduledRefresh() {
+        if (!schedule.isDue()) {
+            return;
+        }
+        try {
+            refresh();
+            schedule.succeeded(refreshIntervalMs);
+        } catch (Exception e) {
+            long retryMs = schedule.failed(retryMinMs, refreshIntervalMs);
+            System.err.println("Error refreshing rocket snapshot, retrying in " + retryMs + " ms: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fetches all rockets, or takes them from the shared snapshot cache when another replica refreshed them recently,
+     * and swaps in the new snapshot if the data changed.
+     * Rockets are compared by content, so an unchanged snapshot decoded again from the shared cache publishes nothing.
+     *
+     * @throws org.springframework.web.client.RestClientException if the rockets cannot be fetched or parsed
+     */
+    public void refresh() {
+        lock.lock();
+        try {
+            List<RocketRow> latest = this.snapshotCache.load("rockets", refreshIntervalMs, ROCKETS_TYPE,
+                    this.spaceXRocketsApi::getRockets);
+            if (latest.equals(this.rockets)) {
+                // Upstream answered 304 Not Modified, or the shared snapshot was decoded again with the same content;
+                // the current instance is kept so its sort orders stay valid
+                return;
+            }
+            this.rockets = latest;
+            this.eventPublisher.publishEvent(new SnapshotChangedEvent(SnapshotChangedEvent.ROCKETS));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns all rockets from the current snapshot, loading it synchronously if no refresh has completed yet.
+     *
+     * @return rockets in upstream order
+     * @throws org.springframework.web.client.RestClientException if the initial load fails
+     */
+    public List<RocketRow> getRockets() {
+        List<RocketRow> snapshot = this.rockets;
+        if (snapshot == null) {
+            UpstreamDeadline.lock(lock, "rocket snapshot");
+            try {
+                if (this.rockets == null) {
+                    refresh();
+                }
+                snapshot = this.rockets;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns all rockets in the requested order.
+     * The orders are computed on the first sorted request after each snapshot change and then reused.
+     *
+     * @param sortBy the field to sort by (id, name, active or success_rate_pct); any other value keeps upstream order
+     * @return rockets in the requested order
+     * @throws org.springframework.web.client.RestClientException if the initial load fails
+     */
+    public List<RocketRow> getRockets(String sortBy) {
+        List<RocketRow> current = getRockets();
+        if (sortBy == null) {
+            return current;
+        }
+        SortedRockets orders = this.sorted;
+        if (orders == null || orders.source() != current) {
+            orders = new SortedRockets(current, sortAll(current));
+            this.sorted = orders;
+        }
+        return orders.bySort().getOrDefault(sortBy.toLowerCase(Locale.ROOT), current);
+    }
+
+    private static Map<String, List<RocketRow>> sortAll(List<RocketRow> rockets) {
+        Map<String, List<RocketRow>> bySort = new HashMap<>();
+        SORTS.forEach((field, comparator) -> {
+            try {
+                bySort.put(field, rockets.stream().sorted(comparator).toList());
+            } catch (RuntimeException e) {
+                // Unsortable by this field (null keys); serve upstream order
+                bySort.put(field, rockets);
+            }
+        });
+        return Map.copyOf(bySort);
+    }
+
+    /**
+     * Returns the current snapshot without triggering a load.
+     *
+     * @return rockets in upstream order, or null if nothing has been loaded yet
+     */
+    public List<RocketRow> snapshot() {
+        return this.rockets;
+    }
+
+    /**
+     * Seeds the snapshot with previously persisted rockets, unless live data has already been loaded.
+     * Used at startup so requests are served while the first refresh is still running.
+     *
+     * @param persisted rockets restored from disk
+     */
+    public void restore(List<RocketRow> persisted) {
+        lock.lock();
+        try {
+            if (this.rockets == null) {
+                this.rockets = persisted;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
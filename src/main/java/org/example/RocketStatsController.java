@@ -0,0 +1,55 @@
+package org.example;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import org.example.LaunchStats.RocketStatsDTO;
+
+/**
+ * REST Controller serving launch statistics per rocket.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/rockets")
+public class RocketStatsController {
+    private final RocketStatsService rocketStatsService;
+
+    @Autowired
+    public RocketStatsController(RocketStatsService rocketStatsService) {
+        this.rocketStatsService = rocketStatsService;
+    }
+
+    /**
+     * Retrieves the launch statistics of every rocket.
+     *
+     * @return Statistics per rocket, in rocket order
+     */
+    @GetMapping(value = "/stats", produces = "application/json")
+    @ResponseBody
+    public List<RocketStatsDTO> all() {
+        return rocketStatsService.getStats();
+    }
+
+    /**
+     * Retrieves the launch statistics of a specific rocket.
+     *
+     * @param rocketId The ID of the rocket
+     * @return Launch count, first and last launch, launches per year and launch cadence
+     */
+    @GetMapping(value = "/{rocketId}/stats", produces = "application/json")
+    @ResponseBody
+    public RocketStatsDTO id(@PathVariable("rocketId") String rocketId) {
+        RocketStatsDTO stats = rocketStatsService.getStats(rocketId);
+        if (stats == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown rocket " + rocketId);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.example.LaunchStats.RocketStatsDTO;
+import org.example.SpaceXJsonReader.RocketRow;
+
+/**
+ * Service serving per-rocket launch statistics. The statistics are aggregated once per launch snapshot,
+ * when the snapshot changes, so a stats request is a map lookup. After an incremental launch update
+ * only the rockets in its change set are aggregated again.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class RocketStatsService {
+    /**
+     * Statistics together with the launch snapshot they were computed from.
+     */
+    private record Computed(LaunchStore source, LaunchStats stats) {
+    }
+
+    private final RocketSnapshotService rocketSnapshotService;
+    private final LaunchSnapshotService launchSnapshotService;
+
+    private volatile Computed computed = new Computed(null, null);
+
+    @Autowired
+    public RocketStatsService(RocketSnapshotService rocketSnapshotService, LaunchSnapshotService launchSnapshotService) {
+        this.rocketSnapshotService = rocketSnapshotService;
+        this.launchSnapshotService = launchSnapshotService;
+    }
+
+    /**
+     * Recomputes the statistics after the launches changed, so the next request does not pay for it.
+     *
+     * @param event the snapshot change
+     */
+    @EventListener
+    public void onSnapshotChanged(SnapshotChangedEvent event) {
+        LaunchStore store = launchSnapshotService.snapshot();
+        if (SnapshotChangedEvent.LAUNCHES.equals(event.snapshot()) && store != null) {
+            stats(store);
+        }
+    }
+
+    /**
+     * Returns the launch statistics of one rocket.
+     *
+     * @param rocketId the rocket id
+     * @return the statistics, or null if there is no such rocket
+     * @throws org.springframework.web.client.RestClientException if a snapshot is not loaded and the load fails
+     */
+    public RocketStatsDTO getStats(String rocketId) {
+        boolean known = rocketSnapshotService.getRockets().stream().anyMatch(rocket -> rocket.id().equals(rocketId));
+        return known ? stats(launchSnapshotService.getStore()).of(rocketId) : null;
+    }
+
+    /**
+     * Returns the launch statistics of every rocket.
+     *
+     * @return statistics in rocket order
+     * @throws org.springframework.web.client.RestClientException if a snapshot is not loaded and the load fails
+     */
+    public List<RocketStatsDTO> getStats() {
+        List<RocketRow> rockets = rocketSnapshotService.getRockets();
+        LaunchStats stats = stats(launchSnapshotService.getStore());
+        return rockets.stream().map(rocket -> stats.of(rocket.id())).toList();
+    }
+
+    private LaunchStats stats(LaunchStore store) {
+        Computed current = this.computed;
+        if (current.source() != store) {
+            Set<String> changed = store.changedRocketIdsSince(current.source());
+            // A store derived from the one the statistics were computed from only needs its changed rockets redone
+            LaunchStats stats = changed != null
+                    ? current.stats().update(store, changed)
+                    : LaunchStats.compute(store, ForkJoinPool.commonPool());
+            current = new Computed(store, stats);
+            this.computed = current;
+        }
+        return current.stats();
+    }
+}
@@ -1,14 +1,13 @@
 package org.example;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.Comparator;
-import com.fasterxml.jackson.core.type.TypeReference;
+
+import org.example.SpaceXJsonReader.RocketRow;
 
 /**
  * REST Controller for handling SpaceX rockets related endpoints.
@@ -21,57 +20,6 @@ import com.fasterxml.jackson.core.type.TypeReference;
 @RestController
 @RequestMapping("/api/rockets")
 public class RocketsController {
-    private final ObjectMapper objectMapper;
-
-    // id, name, active, success_rate_pct
-
-    /**
-     * Internal class representing a SpaceX rocket.
-     * Includes basic rocket information such as ID, name, active status, and success rate.
-     */
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    private static class Rocket {
-        private String id;
-        private String name;
-        private Boolean active;
-        private Integer success_rate_pct;
-
-        public Rocket() {
-        }
-
-        public String getId() {
-            return id;
-        }
-
-        public void setId(String id) {
-            this.id = id;
-        }
-
-        public String getName() {
-            return name;
-        }
-
-        public void setName(String name) {
-            this.name = name;
-        }
-
-        public Boolean getActive() {
-            return active;
-        }
-
-        public void setActive(Boolean active) {
-            this.active = active;
-        }
-
-        public Integer getSuccess_rate_pct() {
-            return success_rate_pct;
-        }
-
-        public void setSuccess_rate_pct(Integer success_rate_pct) {
-            this.success_rate_pct = success_rate_pct;
-        }
-    }
-
     /**
      * Data Transfer Object for rocket information.
      * Contains simplified rocket data for API responses.
@@ -84,17 +32,16 @@ public class RocketsController {
     public record RocketDTO(String id, String name, Boolean active, Integer successRatePct) {
     }
 
-    private final SpaceXRocketsApi spaceXRocketsApi;
+    private final RocketSnapshotService rocketSnapshotService;
 
     /**
-     * Constructs a new RocketsController with the specified SpaceX API client.
+     * Constructs a new RocketsController backed by the in-memory rocket snapshot.
      *
-     * @param spaceXRocketsApi the API client for SpaceX rockets data
+     * @param rocketSnapshotService the snapshot of SpaceX rockets data
      */
     @Autowired
-    public RocketsController(SpaceXRocketsApi spaceXRocketsApi) {
-        this.spaceXRocketsApi = spaceXRocketsApi;
-        this.objectMapper = new ObjectMapper();
+    public RocketsController(RocketSnapshotService rocketSnapshotService) {
+        this.rocketSnapshotService = rocketSnapshotService;
     }
 
 
@@ -122,43 +69,24 @@ public class RocketsController {
      * @return List of sorted rockets as DTOs
      * @throws Exception if there's an error retrieving or processing the rocket data
      */
-    @GetMapping(value = "/all", produces = "application/json")
+    @GetMapping(value = "/all", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.SMILE_VALUE, BinaryFormatsConfig.MSGPACK_VALUE})
     @ResponseBody
     public List<RocketDTO> all(@RequestParam(value = "sort", required = false) String sortBy) throws Exception {
-        List<Rocket> rockets = getParsedResponse();
-
-        try {
-            Comparator<Rocket> comparator = switch (sortBy.toLowerCase()) {
-                case "id" -> Comparator.comparing(Rocket::getId);
-                case "name" -> Comparator.comparing(Rocket::getName);
-                case "active" -> (r1, r2) -> Boolean.compare(r1.getActive(), r2.getActive());
-                case "success_rate_pct" -> Comparator.comparing(Rocket::getSuccess_rate_pct,
-                        Comparator.nullsLast(Comparator.reverseOrder()));
-                default -> null;
-            };
-
-            if (comparator != null) {
-                rockets = rockets.stream()
-                        .sorted(comparator)
-                        .toList();
-            }
-        } catch (Exception e) {
-            // Return unsorted list in case of any error
-        }
-
+        // Sort orders are precomputed once per snapshot rather than sorting on every call
+        List<RocketRow> rockets = this.rocketSnapshotService.getRockets(sortBy);
         return getRocketsDTO(rockets);
     }
 
     /**
-     * Parses JSON response into a list of Rocket objects.
+     * Parses JSON response into a list of projected rockets.
      *
      * @param response the JSON string to parse
-     * @return List of Rocket objects
-     * @throws JsonProcessingException if JSON parsing fails
+     * @return List of rockets
+     * @throws IOException if JSON parsing fails
      */
-    private List<Rocket> parseRockets(String response) throws JsonProcessingException {
-        return this.objectMapper.readValue(response, new TypeReference<List<Rocket>>() {
-        });
+    static List<RocketRow> parseRockets(String response) throws IOException {
+        return SpaceXJsonReader.readRockets(response);
     }
 
     /**
@@ -167,23 +95,22 @@ public class RocketsController {
      * @return List of active rockets as DTOs
      * @throws Exception if there's an error retrieving or processing the rocket data
      */
-    @GetMapping(value = "/active", produces = "application/json")
+    @GetMapping(value = "/active", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.SMILE_VALUE, BinaryFormatsConfig.MSGPACK_VALUE})
     @ResponseBody
     public List<RocketDTO> active() throws Exception {
-        List<Rocket> rockets = getParsedResponse();
-        List<Rocket> activeRockets = getActiveRockets(rockets);
+        List<RocketRow> rockets = getParsedResponse();
+        List<RocketRow> activeRockets = getActiveRockets(rockets);
         return getActiveRocketsDTO(activeRockets);
     }
 
     /**
-     * Retrieves and parses rocket data from the SpaceX API.
+     * Retrieves rocket data from the in-memory snapshot.
      *
-     * @return List of parsed Rocket objects
-     * @throws JsonProcessingException if JSON parsing fails
+     * @return List of parsed rockets
      */
-    private List<Rocket> getParsedResponse() throws JsonProcessingException {
-        String response = this.spaceXRocketsApi.getRocketsData();
-        return parseRockets(response);
+    private List<RocketRow> getParsedResponse() {
+        return this.rocketSnapshotService.getRockets();
     }
 
     /**
@@ -192,9 +119,9 @@ public class RocketsController {
      * @param rockets the list of rockets to filter
      * @return List of active rockets
      */
-    private static List<Rocket> getActiveRockets(List<Rocket> rockets) {
+    private static List<RocketRow> getActiveRockets(List<RocketRow> rockets) {
         return rockets.stream()
-                .filter(rocket -> Boolean.TRUE.equals(rocket.getActive()))
+                .filter(rocket -> Boolean.TRUE.equals(rocket.active()))
                 .toList();
     }
 
@@ -204,14 +131,14 @@ public class RocketsController {
      * @param rockets the list of rockets to convert
      * @return List of active rocket DTOs
      */
-    private static List<RocketDTO> getActiveRocketsDTO(List<Rocket> rockets) {
+    private static List<RocketDTO> getActiveRocketsDTO(List<RocketRow> rockets) {
         return rockets.stream()
-                .filter(rocket -> Boolean.TRUE.equals(rocket.getActive()))
+                .filter(rocket -> Boolean.TRUE.equals(rocket.active()))
                 .map(rocket -> new RocketDTO(
-                        rocket.getId(),
-                        rocket.getName(),
-                        rocket.getActive(),
-                        rocket.getSuccess_rate_pct()
+                        rocket.id(),
+                        rocket.name(),
+                        rocket.active(),
+                        rocket.successRatePct()
                 ))
                 .toList();
     }
@@ -222,13 +149,13 @@ public class RocketsController {
      * @param rockets the list of rockets to convert
      * @return List of rocket DTOs
      */
-    private static List<RocketDTO> getRocketsDTO(List<Rocket> rockets) {
+    static List<RocketDTO> getRocketsDTO(List<RocketRow> rockets) {
         return rockets.stream()
                 .map(rocket -> new RocketDTO(
-                        rocket.getId(),
-                        rocket.getName(),
-                        rocket.getActive(),
-                        rocket.getSuccess_rate_pct()
+                        rocket.id(),
+                        rocket.name(),
+                        rocket.active(),
+                        rocket.successRatePct()
                 ))
                 .toList();
     }
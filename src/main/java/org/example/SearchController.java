@@ -0,0 +1,45 @@
+package org.example;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * REST Controller for searching rockets and launches by name.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    private static final int MAX_RESULTS = 100;
+
+    private final SearchService searchService;
+
+    @Autowired
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Searches rocket and launch names, e.g. {@code ?q=starl} or {@code ?q=falcon 9}.
+     *
+     * @param query Words to look for; each one matches whole words or their prefixes
+     * @param limit Maximum number of results, 1 to 100 (default 20)
+     * @return Matching rockets and launches, best match first
+     */
+    @GetMapping(produces = "application/json")
+    @ResponseBody
+    public List<SearchService.SearchResultDTO> search(@RequestParam("q") String query,
+                                                      @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must not be blank");
+        }
+        return searchService.search(query, Math.clamp(limit, 1, MAX_RESULTS));
+    }
+}
@@ -0,0 +1,203 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable full-text index over a list of names, answering type-ahead queries without scanning the names.
+ * Names are split into lower-case alphanumeric terms. An inverted index maps each term to the documents
+ * containing it, and a prefix trie over the sorted terms maps a query token to the contiguous range of
+ * terms it prefixes. Every query token must match (as a prefix) for a document to be returned.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+final class SearchIndex {
+    /**
+     * One ranked match.
+     *
+     * @param doc   the document, i.e. the index of the name the index was built from
+     * @param score relevance; a token matching a whole term counts double a token matching a term's prefix
+     */
+    record Hit(int doc, double score) {
+    }
+
+    static final SearchIndex EMPTY = new SearchIndex(List.of());
+
+    private static final double EXACT_TERM = 2.0;
+    private static final double PREFIX_TERM = 1.0;
+
+    /**
+     * Distinct terms in sorted order; a term's position is its term id.
+     */
+    private final String[] terms;
+
+    /**
+     * Documents containing each term, ascending, indexed by term id.
+     */
+    private final int[][] postings;
+
+    /**
+     * Name length of each document, used to rank shorter (closer) matches first on equal scores.
+     */
+    private final int[] lengths;
+
+    private final TrieNode root = new TrieNode();
+
+    /**
+     * Trie node; the terms below it are the contiguous term id range [lo, hi).
+     */
+    private static final class TrieNode {
+        private char[] keys = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        private int lo = -1;
+        private int hi;
+
+        private TrieNode child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private TrieNode addChild(char key) {
+            TrieNode existing = child(key);
+            if (existing != null) {
+                return existing;
+            }
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = key;
+            TrieNode node = new TrieNode();
+            children[children.length - 1] = node;
+            return node;
+        }
+    }
+
+    /**
+     * Indexes the given names; document ids are positions in the list. Null names are not searchable.
+     *
+     * @param names the names to index
+     */
+    SearchIndex(List<String> names) {
+        Map<String, List<Integer>> byTerm = new TreeMap<>();
+        lengths = new int[names.size()];
+        for (int doc = 0; doc < names.size(); doc++) {
+            String name = names.get(doc);
+            if (name == null) {
+                continue;
+            }
+            lengths[doc] = name.length();
+            for (String term : tokenize(name)) {
+                List<Integer> docs = byTerm.computeIfAbsent(term, key -> new ArrayList<>());
+                if (docs.isEmpty() || docs.get(docs.size() - 1) != doc) {
+                    docs.add(doc);
+                }
+            }
+        }
+        terms = byTerm.keySet().toArray(String[]::new);
+        postings = new int[terms.length][];
+        int termId = 0;
+        for (List<Integer> docs : byTerm.values()) {
+            postings[termId] = docs.stream().mapToInt(Integer::intValue).toArray();
+            insert(terms[termId], termId);
+            termId++;
+        }
+    }
+
+    /**
+     * Splits text into lower-case alphanumeric terms.
+     *
+     * @param text the text to split
+     * @return the terms in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Finds the documents matching every token of the query, best first.
+     *
+     * @param query the user's query
+     * @param limit the maximum number of hits
+     * @return the hits, ranked by score and then by shorter name
+     */
+    List<Hit> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Double> scores = null;
+        for (String token : tokens) {
+            TrieNode node = find(token);
+            if (node == null) {
+                return List.of();
+            }
+            Map<Integer, Double> tokenScores = new HashMap<>();
+            for (int termId = node.lo; termId < node.hi; termId++) {
+                double weight = terms[termId].length() == token.length() ? EXACT_TERM : PREFIX_TERM;
+                for (int doc : postings[termId]) {
+                    tokenScores.merge(doc, weight, Math::max);
+                }
+            }
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                Map<Integer, Double> previous = scores;
+                tokenScores.keySet().retainAll(previous.keySet());
+                tokenScores.replaceAll((doc, score) -> score + previous.get(doc));
+                scores = tokenScores;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        return scores.entrySet().stream()
+                .map(entry -> new Hit(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(Hit::score).reversed()
+                        .thenComparingInt(hit -> lengths[hit.doc()])
+                        .thenComparingInt(Hit::doc))
+                .limit(limit)
+                .toList();
+    }
+
+    private void insert(String term, int termId) {
+        // Terms arrive in sorted order, so each node's range only ever grows at its end
+        TrieNode node = root;
+        extend(node, termId);
+        for (int i = 0; i < term.length(); i++) {
+            node = node.addChild(term.charAt(i));
+            extend(node, termId);
+        }
+    }
+
+    private static void extend(TrieNode node, int termId) {
+        if (node.lo == -1) {
+            node.lo = termId;
+        }
+        node.hi = termId + 1;
+    }
+
+    private TrieNode find(String prefix) {
+        TrieNode node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node == null || node.lo == -1 ? null : node;
+    }
+}
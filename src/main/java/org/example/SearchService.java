@@ -0,0 +1,136 @@
+package org.example;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.example.LaunchesController.LaunchDTO;
+import org.example.SpaceXJsonReader.RocketRow;
+
+/**
+ * Service answering free-text searches over rocket and launch names from prebuilt {@link SearchIndex}es.
+ * Each index is rebuilt when its own snapshot changes, so a launches refresh leaves the rockets index alone
+ * and vice versa; a query never scans the snapshots.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class SearchService {
+    public static final String ROCKET = "rocket";
+    public static final String LAUNCH = "launch";
+
+    /**
+     * One search result.
+     *
+     * @param type   {@link #ROCKET} or {@link #LAUNCH}
+     * @param id     the rocket or launch id
+     * @param name   the rocket or launch name
+     * @param rocket the launch's rocket id; null for rockets
+     * @param date   the formatted launch date; null for rockets
+     * @param score  relevance, higher is better
+     */
+    public record SearchResultDTO(String type, String id, String name, String rocket, String date, double score) {
+    }
+
+    /**
+     * An index together with the snapshot it was built from.
+     */
+    private record Indexed<S>(S source, SearchIndex index) {
+    }
+
+    private static final Comparator<SearchResultDTO> RANKING = Comparator
+            .comparingDouble(SearchResultDTO::score).reversed()
+            .thenComparing(result -> LAUNCH.equals(result.type()));
+
+    private final RocketSnapshotService rocketSnapshotService;
+    private final LaunchSnapshotService launchSnapshotService;
+
+    private volatile Indexed<List<RocketRow>> rockets = new Indexed<>(null, SearchIndex.EMPTY);
+    private volatile Indexed<LaunchStore> launches = new Indexed<>(null, SearchIndex.EMPTY);
+
+    @Autowired
+    public SearchService(RocketSnapshotService rocketSnapshotService, LaunchSnapshotService launchSnapshotService) {
+        this.rocketSnapshotService = rocketSnapshotService;
+        this.launchSnapshotService = launchSnapshotService;
+    }
+
+    /**
+     * Rebuilds the index of the snapshot that changed, so the first search after a refresh does not pay for it.
+     *
+     * @param event the snapshot change
+     */
+    @EventListener
+    public void onSnapshotChanged(SnapshotChangedEvent event) {
+        if (SnapshotChangedEvent.ROCKETS.equals(event.snapshot())) {
+            rocketIndex(rocketSnapshotService.snapshot());
+        } else if (SnapshotChangedEvent.LAUNCHES.equals(event.snapshot())) {
+            launchIndex(launchSnapshotService.snapshot());
+        }
+    }
+
+    /**
+     * Finds rockets and launches whose names contain, for every word of the query, a word it equals or prefixes;
+     * whole-word matches rank above prefix matches. Loads the snapshots first if no refresh has completed yet.
+     *
+     * @param query the words to look for
+     * @param limit the maximum number of results
+     * @return rockets and launches, best match first; rockets before launches on equal scores
+     * @throws org.springframework.web.client.RestClientException if a snapshot is not loaded and the load fails
+     */
+    public List<SearchResultDTO> search(String query, int limit) {
+        List<RocketRow> rocketRows = rocketSnapshotService.getRockets();
+        LaunchStore store = launchSnapshotService.getStore();
+
+        List<SearchResultDTO> results = new ArrayList<>();
+        for (SearchIndex.Hit hit : rocketIndex(rocketRows).search(query, limit)) {
+            RocketRow rocket = rocketRows.get(hit.doc());
+            results.add(new SearchResultDTO(ROCKET, rocket.id(), rocket.name(), null, null, hit.score()));
+        }
+        for (SearchIndex.Hit hit : launchIndex(store).search(query, limit)) {
+            LaunchDTO launch = store.toDTO(hit.doc());
+            results.add(new SearchResultDTO(LAUNCH, launch.id(), launch.name(), launch.rocket(), launch.date(),
+                    hit.score()));
+        }
+        // Stable sort keeps each index's own order (shorter names first) within equal scores
+        results.sort(RANKING);
+        return results.size() > limit ? List.copyOf(results.subList(0, limit)) : results;
+    }
+
+    private SearchIndex rocketIndex(List<RocketRow> snapshot) {
+        Indexed<List<RocketRow>> current = this.rockets;
+        if (current.source() != snapshot) {
+            current = index(snapshot, rows -> rows.stream().map(RocketRow::name).toList());
+            this.rockets = current;
+        }
+        return current.index();
+    }
+
+    private SearchIndex launchIndex(LaunchStore snapshot) {
+        Indexed<LaunchStore> current = this.launches;
+        if (current.source() != snapshot) {
+            current = index(snapshot, store -> {
+                List<String> names = new ArrayList<>(store.size());
+                for (int row = 0; row < store.size(); row++) {
+                    names.add(store.name(row));
+                }
+                return names;
+            });
+            this.launches = current;
+        }
+        return current.index();
+    }
+
+    /**
+     * Indexes a snapshot; an absent snapshot gets an empty index.
+     */
+    private static <S> Indexed<S> index(S snapshot, Function<S, List<String>> names) {
+        return new Indexed<>(snapshot, snapshot == null ? SearchIndex.EMPTY : new SearchIndex(names.apply(snapshot)));
+    }
+}
@@ -0,0 +1,72 @@
+package org.example;
+
+/**
+ * Second-tier snapshot storage shared by every replica, such as Redis.
+ * Snapshots are stored as serialized, versioned payloads: a small metadata record names the
+ * current version and when it was written, and each version's payload is stored under its own key
+ * so readers never observe a half-written snapshot.
+ * A lease-style lock lets one replica at a time refresh a snapshot from upstream.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+interface SharedSnapshotStore extends AutoCloseable {
+
+    /**
+     * Current version of a shared snapshot.
+     *
+     * @param version   content version of the payload
+     * @param writtenAt epoch millis of the last upstream refresh that confirmed this version
+     */
+    record Meta(String version, long writtenAt) {
+    }
+
+    /**
+     * Returns the current version of a snapshot.
+     *
+     * @param name the snapshot name
+     * @return the current version, or null if the snapshot was never stored
+     */
+    Meta meta(String name);
+
+    /**
+     * Returns the payload of one version of a snapshot.
+     *
+     * @param name    the snapshot name
+     * @param version the version to read
+     * @return the serialized snapshot, or null if that version has expired
+     */
+    byte[] data(String name, String version);
+
+    /**
+     * Stores a payload and then makes it the current version.
+     *
+     * @param name      the snapshot name
+     * @param version   content version of the payload
+     * @param data      the serialized snapshot
+     * @param writtenAt epoch millis of the refresh
+     */
+    void put(String name, String version, byte[] data, long writtenAt);
+
+    /**
+     * Takes the refresh lock of a snapshot unless another replica holds it.
+     *
+     * @param name   the snapshot name
+     * @param token  identifies this holder when unlocking
+     * @param ttlMs  how long the lock lasts if it is never released
+     * @return whether the lock was taken
+     */
+    boolean tryLock(String name, String token, long ttlMs);
+
+    /**
+     * Releases the refresh lock of a snapshot if it is still held with the given token.
+     *
+     * @param name  the snapshot name
+     * @param token the token the lock was taken with
+     */
+    void unlock(String name, String token);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,205 @@
+package org.example;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache in front of the upstream snapshot loads, so that replicas behind a load balancer
+ * share one upstream refresh instead of each pulling {@code v4/rockets} and {@code v4/launches}.
+ * <p>
+ * With a shared L2 configured ({@code spacex.cache.l2.redis-url}), a load first reads the shared version:
+ * if another replica refreshed it within the refresh interval, that snapshot is used without contacting the SpaceX API.
+ * Otherwise the replica that takes the L2 refresh lock fetches upstream and publishes the result, while the others
+ * keep using the last shared snapshot. Payloads are versioned by content, and decoded snapshots are kept in a bounded
+ * Caffeine L1, so a version this replica already holds is neither transferred nor decoded again. Once the L1 entry has
+ * expired the same version is decoded into a new instance, so the snapshot services compare snapshots by content. Without an L2, or while it is unreachable, loads go straight
+ * upstream as before.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class SnapshotCache {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * A decoded snapshot and the shared version it was decoded from.
+     */
+    private record Versioned(String version, Object value) {
+    }
+
+    private final SharedSnapshotStore shared;
+    private final Cache<String, Versioned> local;
+    private final long lockMs;
+    private final SpaceXMetrics metrics;
+
+    /**
+     * Local-only cache: every load goes upstream.
+     */
+    public SnapshotCache() {
+        this(null, 16, 3600000, 30000, new SpaceXMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Autowired
+    public SnapshotCache(@Value("${spacex.cache.l2.redis-url:}") String redisUrl,
+                         @Value("${spacex.cache.l2.timeout-ms:2000}") int timeoutMs,
+                         @Value("${spacex.cache.l1.max-entries:16}") long l1MaxEntries,
+                         @Value("${spacex.cache.l1.ttl-ms:3600000}") long l1TtlMs,
+                         @Value("${spacex.cache.l2.lock-ms:30000}") long lockMs,
+                         SpaceXMetrics metrics) {
+        this(redisUrl.isBlank() ? null : new RedisSnapshotStore(URI.create(redisUrl), timeoutMs),
+                l1MaxEntries, l1TtlMs, lockMs, metrics);
+    }
+
+    SnapshotCache(SharedSnapshotStore shared, long l1MaxEntries, long l1TtlMs, long lockMs, SpaceXMetrics metrics) {
+        this.shared = shared;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(l1MaxEntries)
+                .expireAfterWrite(Duration.ofMillis(l1TtlMs))
+                .recordStats()
+                .build();
+        this.lockMs = lockMs;
+        this.metrics = metrics;
+        metrics.bindSnapshotL1(local);
+    }
+
+    /**
+     * Loads a snapshot through the cache tiers.
+     *
+     * @param name     the snapshot name, e.g. {@code rockets}
+     * @param maxAgeMs how old a shared snapshot may be before it is refreshed from upstream
+     * @param type     the snapshot type, for decoding a shared payload
+     * @param upstream fetches the snapshot from the SpaceX API
+     * @param <T>      the snapshot type
+     * @return the snapshot
+     * @throws org.springframework.web.client.RestClientException if the snapshot has to be fetched and the fetch fails
+     */
+    public <T> T load(String name, long maxAgeMs, TypeReference<T> type, Supplier<T> upstream) {
+        if (shared == null) {
+            return fromUpstream(name, upstream);
+        }
+        T value = sharedOrNull(name, maxAgeMs, type);
+        if (value != null) {
+            return value;
+        }
+        String token = UUID.randomUUID().toString();
+        boolean locked;
+        try {
+            locked = shared.tryLock(name, token, lockMs);
+        } catch (RuntimeException e) {
+            System.err.println("Shared snapshot cache unavailable, loading " + name + " from upstream: " + e.getMessage());
+            return fromUpstream(name, upstream);
+        }
+        if (!locked) {
+            // Another replica is refreshing; keep to the last shared snapshot, however old, until it has published
+            value = sharedOrNull(name, Long.MAX_VALUE, type);
+            return value != null ? value : fromUpstream(name, upstream);
+        }
+        try {
+            // The previous holder may have published between our first read and taking the lock
+            value = sharedOrNull(name, maxAgeMs, type);
+            return value != null ? value : publish(name, fromUpstream(name, upstream));
+        } finally {
+            try {
+                shared.unlock(name, token);
+            } catch (RuntimeException e) {
+                // The lock expires on its own
+                System.err.println("Error releasing shared refresh lock for " + name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (shared != null) {
+            shared.close();
+        }
+    }
+
+    private <T> T fromUpstream(String name, Supplier<T> upstream) {
+        T value = upstream.get();
+        metrics.snapshotLoaded(name, "upstream");
+        return value;
+    }
+
+    /**
+     * Returns the current shared snapshot, from L1 when this replica already decoded that version.
+     *
+     * @param maxAgeMs how long ago the snapshot may have been refreshed
+     * @return the snapshot, or null if there is none recent enough or L2 cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T sharedOrNull(String name, long maxAgeMs, TypeReference<T> type) {
+        try {
+            SharedSnapshotStore.Meta meta = shared.meta(name);
+            if (meta == null || System.currentTimeMillis() - meta.writtenAt() >= maxAgeMs) {
+                return null;
+            }
+            Versioned cached = local.getIfPresent(name);
+            if (cached != null && cached.version().equals(meta.version())) {
+                metrics.snapshotLoaded(name, "l1");
+                return (T) cached.value();
+            }
+            byte[] data = shared.data(name, meta.version());
+            if (data == null) {
+                return null;
+            }
+            T value = MAPPER.readValue(data, type);
+            local.put(name, new Versioned(meta.version(), value));
+            metrics.snapshotLoaded(name, "l2");
+            return value;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading " + name + " snapshot from the shared cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a freshly fetched snapshot to L2. An unchanged snapshot hashes to the same version, so other
+     * replicas only see its write time renewed and do not decode it again.
+     *
+     * @return the snapshot, or the instance already held in L1 if the content is unchanged
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T publish(String name, T value) {
+        try {
+            byte[] data = MAPPER.writeValueAsBytes(value);
+            String version = version(data);
+            shared.put(name, version, data, System.currentTimeMillis());
+            Versioned cached = local.getIfPresent(name);
+            if (cached != null && cached.version().equals(version)) {
+                return (T) cached.value();
+            }
+            local.put(name, new Versioned(version, value));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error publishing " + name + " snapshot to the shared cache: " + e.getMessage());
+        }
+        return value;
+    }
+
+    private static String version(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
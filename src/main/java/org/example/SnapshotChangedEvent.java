@@ -0,0 +1,42 @@
+package org.example;
+
+import java.util.Set;
+
+/**
+ * Application event published when an in-memory data snapshot has been replaced
+ * with data that differs from the previous one.
+ *
+ * @param snapshot  The snapshot that changed, {@link #ROCKETS}, {@link #LAUNCHES} or {@link #NAMES}
+ * @param rocketIds The change set: ids of the rockets whose launches were added, changed or removed,
+ *                  or null when anything may have changed
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+public record SnapshotChangedEvent(String snapshot, Set<String> rocketIds) {
+    public static final String ROCKETS = "rockets";
+    public static final String LAUNCHES = "launches";
+    /**
+     * The launchpad and payload names.
+     */
+    public static final String NAMES = "names";
+
+    /**
+     * Creates an event for a snapshot that may have changed as a whole.
+     *
+     * @param snapshot The snapshot that changed
+     */
+    public SnapshotChangedEvent(String snapshot) {
+        this(snapshot, null);
+    }
+
+    /**
+     * Whether data scoped to the given rocket may be stale after this change.
+     *
+     * @param rocketId the rocket id
+     * @return true unless the change set is known and leaves the rocket out
+     */
+    public boolean affects(String rocketId) {
+        return rocketIds == null || rocketIds.contains(rocketId);
+    }
+}
@@ -0,0 +1,316 @@
+package org.example;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.example.ReferenceSnapshotService.Names;
+import org.example.SpaceXJsonReader.LaunchRow;
+import org.example.SpaceXJsonReader.RocketRow;
+
+/**
+ * Persists the last good rockets, launches and launchpad/payload names snapshots to a local file in a compact
+ * binary format.
+ * At startup the file is memory-mapped and loaded into the snapshot services before the server
+ * accepts traffic, so requests are served while the first upstream refresh runs and during upstream outages.
+ * The file is rewritten atomically whenever a snapshot changes.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class SnapshotFileStore {
+    /**
+     * File signature, "SXSN".
+     */
+    private static final int MAGIC = 0x5358534E;
+    /**
+     * Version 2 added launchpad and payload ids to launches, and the launchpad and payload names.
+     * Version 1 files are still read.
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * Count written for a section whose snapshot was never loaded.
+     */
+    private static final int ABSENT = -1;
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    /**
+     * Contents of a snapshot file; any part may be null when it was never loaded.
+     *
+     * @param rockets  persisted rockets in upstream order
+     * @param launches persisted launches
+     * @param names    persisted launchpad and payload names
+     */
+    record Contents(List<RocketRow> rockets, LaunchStore launches, Names names) {
+        Contents(List<RocketRow> rockets, LaunchStore launches) {
+            this(rockets, launches, null);
+        }
+    }
+
+    private final RocketSnapshotService rocketSnapshotService;
+    private final LaunchSnapshotService launchSnapshotService;
+    private final ReferenceSnapshotService referenceSnapshotService;
+
+    /**
+     * Location of the snapshot file; blank disables persistence.
+     */
+    @Value("${spacex.snapshot.file:}")
+    private String file = "";
+
+    @Autowired
+    public SnapshotFileStore(RocketSnapshotService rocketSnapshotService, LaunchSnapshotService launchSnapshotService,
+                             ReferenceSnapshotService referenceSnapshotService) {
+        this.rocketSnapshotService = rocketSnapshotService;
+        this.launchSnapshotService = launchSnapshotService;
+        this.referenceSnapshotService = referenceSnapshotService;
+    }
+
+    /**
+     * Loads the persisted snapshot, if any, into the snapshot services.
+     * A missing or unreadable file is ignored and the services start empty.
+     */
+    @PostConstruct
+    public void load() {
+        if (file.isBlank() || !Files.isRegularFile(Path.of(file))) {
+            return;
+        }
+        try {
+            Contents contents = read(Path.of(file));
+            if (contents.rockets() != null) {
+                rocketSnapshotService.restore(contents.rockets());
+            }
+            if (contents.launches() != null) {
+                launchSnapshotService.restore(contents.launches());
+            }
+            if (contents.names() != null) {
+                referenceSnapshotService.restore(contents.names());
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable snapshot file " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the current snapshots after any of them changed.
+     *
+     * @param event the snapshot change
+     */
+    @EventListener
+    public synchronized void onSnapshotChanged(SnapshotChangedEvent event) {
+        if (file.isBlank()) {
+            return;
+        }
+        try {
+            write(Path.of(file), new Contents(rocketSnapshotService.snapshot(), launchSnapshotService.snapshot(),
+                    referenceSnapshotService.snapshot()));
+        } catch (IOException e) {
+            System.err.println("Error writing snapshot file " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a snapshot file atomically: the data goes to a temporary file that then replaces the target.
+     *
+     * @param target   the snapshot file
+     * @param contents the snapshots to persist
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path target, Contents contents) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeRockets(out, contents.rockets());
+                writeLaunches(out, contents.launches());
+                writeNames(out, contents.names());
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Memory-maps and decodes a snapshot file.
+     *
+     * @param source the snapshot file
+     * @return the decoded snapshots
+     * @throws IOException if the file cannot be read or has an unknown format
+     */
+    static Contents read(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.remaining() < 8 || in.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot file");
+            }
+            int version = in.getInt();
+            if (version != 1 && version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format version " + version);
+            }
+            List<RocketRow> rockets = readRockets(in);
+            LaunchStore launches = readLaunches(in, version);
+            return new Contents(rockets, launches, version == 1 ? null : readNames(in));
+        }
+    }
+
+    private static void writeRockets(DataOutputStream out, List<RocketRow> rockets) throws IOException {
+        if (rockets == null) {
+            out.writeInt(ABSENT);
+            return;
+        }
+        out.writeInt(rockets.size());
+        for (RocketRow rocket : rockets) {
+            writeString(out, rocket.id());
+            writeString(out, rocket.name());
+            out.writeByte(rocket.active() == null ? -1 : rocket.active() ? 1 : 0);
+            out.writeInt(rocket.successRatePct() == null ? NULL_INT : rocket.successRatePct());
+        }
+    }
+
+    private static List<RocketRow> readRockets(ByteBuffer in) {
+        int count = in.getInt();
+        if (count == ABSENT) {
+            return null;
+        }
+        List<RocketRow> rockets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = readString(in);
+            String name = readString(in);
+            byte active = in.get();
+            int successRatePct = in.getInt();
+            rockets.add(new RocketRow(id, name, active == -1 ? null : active == 1,
+                    successRatePct == NULL_INT ? null : successRatePct));
+        }
+        return List.copyOf(rockets);
+    }
+
+    private static void writeLaunches(DataOutputStream out, LaunchStore launches) throws IOException {
+        if (launches == null) {
+            out.writeInt(ABSENT);
+            return;
+        }
+        out.writeInt(launches.size());
+        for (int row = 0; row < launches.size(); row++) {
+            writeString(out, launches.id(row));
+            writeString(out, launches.name(row));
+            writeString(out, launches.rocketId(row));
+            out.writeLong(launches.dateUnix(row));
+            writeString(out, launches.launchpadId(row));
+            String[] payloads = launches.payloadIds(row);
+            out.writeInt(payloads.length);
+            for (String payload : payloads) {
+                writeString(out, payload);
+            }
+        }
+    }
+
+    private static LaunchStore readLaunches(ByteBuffer in, int version) {
+        int count = in.getInt();
+        if (count == ABSENT) {
+            return null;
+        }
+        List<LaunchRow> launches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = readString(in);
+            String name = readString(in);
+            String rocket = readString(in);
+            long dateUnix = in.getLong();
+            String launchpad = null;
+            List<String> payloads = List.of();
+            if (version > 1) {
+                launchpad = readString(in);
+                String[] payloadIds = new String[in.getInt()];
+                for (int p = 0; p < payloadIds.length; p++) {
+                    payloadIds[p] = readString(in);
+                }
+                payloads = List.of(payloadIds);
+            }
+            launches.add(new LaunchRow(id, name, rocket, dateUnix == LaunchStore.NO_DATE ? null : (int) dateUnix,
+                    launchpad, payloads));
+        }
+        return LaunchStore.of(launches);
+    }
+
+    private static void writeNames(DataOutputStream out, Names names) throws IOException {
+        if (names == null) {
+            out.writeInt(ABSENT);
+            return;
+        }
+        writeMap(out, names.launchpads());
+        writeMap(out, names.payloads());
+    }
+
+    private static Names readNames(ByteBuffer in) {
+        int launchpads = in.getInt();
+        if (launchpads == ABSENT) {
+            return null;
+        }
+        return new Names(readMap(in, launchpads), readMap(in, in.getInt()));
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, String> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, String> readMap(ByteBuffer in, int count) {
+        Map<String, String> map = new HashMap<>(count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            map.put(readString(in), readString(in));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string; length -1 encodes null.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
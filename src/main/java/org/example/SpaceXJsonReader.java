@@ -0,0 +1,341 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for SpaceX API payloads.
+ * Walks the upstream JSON with Jackson's {@link JsonParser} and keeps only the projected fields,
+ * skipping every other subtree (links, cores, crew, failures, ...) without materializing it.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+public final class SpaceXJsonReader {
+    /**
+     * Projection of a SpaceX launch: id, name, rocket, date_unix, launchpad and payloads.
+     *
+     * @param id        The unique identifier of the launch
+     * @param name      The name of the launch
+     * @param rocket    The rocket ID used for the launch, may be null
+     * @param dateUnix  The Unix timestamp of the launch date, may be null
+     * @param launchpad The launchpad ID of the launch, may be null
+     * @param payloads  The payload IDs of the launch, empty if none are known
+     */
+    public record LaunchRow(String id, String name, String rocket, Integer dateUnix, String launchpad,
+                            List<String> payloads) {
+        public LaunchRow {
+            payloads = payloads == null ? List.of() : List.copyOf(payloads);
+        }
+
+        /**
+         * Creates a launch without launchpad and payloads, as returned by the projected query API.
+         */
+        public LaunchRow(String id, String name, String rocket, Integer dateUnix) {
+            this(id, name, rocket, dateUnix, null, List.of());
+        }
+    }
+
+    /**
+     * Projection of a SpaceX rocket: id, name, active and success_rate_pct.
+     *
+     * @param id             The unique identifier of the rocket
+     * @param name           The name of the rocket
+     * @param active         Whether the rocket is currently active, may be null
+     * @param successRatePct The success rate percentage of the rocket, may be null
+     */
+    public record RocketRow(String id, String name, Boolean active, Integer successRatePct) {
+    }
+
+    /**
+     * Pagination details of one {@code v4/launches/query} result page.
+     *
+     * @param docs        The number of launches on the page
+     * @param totalDocs   The number of launches matching the query, -1 if the upstream does not report it
+     * @param hasNextPage Whether the upstream reports a further page
+     */
+    public record QueryPage(int docs, int totalDocs, boolean hasNextPage) {
+    }
+
+    /**
+     * Jackson factory shared by all parsers; thread-safe once configured.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private SpaceXJsonReader() {
+    }
+
+    /**
+     * Reads a {@code v4/rockets} array.
+     *
+     * @param in the upstream response body
+     * @return the projected rockets in upstream order
+     * @throws IOException if the stream cannot be read or is not a JSON array
+     */
+    public static List<RocketRow> readRockets(InputStream in) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            return readRockets(parser);
+        }
+    }
+
+    /**
+     * Reads a {@code v4/rockets} array held in memory.
+     *
+     * @param json the JSON document
+     * @return the projected rockets in upstream order
+     * @throws IOException if the document is not a JSON array
+     */
+    public static List<RocketRow> readRockets(String json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return readRockets(parser);
+        }
+    }
+
+    /**
+     * Reads the ids and names of a {@code v4/launchpads} or {@code v4/payloads} array.
+     *
+     * @param in the upstream response body
+     * @return name by id; entries without an id are skipped
+     * @throws IOException if the stream cannot be read or is not a JSON array
+     */
+    public static Map<String, String> readNames(InputStream in) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            expectArray(parser);
+            Map<String, String> names = new HashMap<>();
+            while (nextObject(parser)) {
+                String id = null;
+                String name = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    switch (field) {
+                        case "id" -> id = readText(parser, value);
+                        case "name" -> name = readText(parser, value);
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (id != null) {
+                    names.put(id, name);
+                }
+            }
+            return names;
+        }
+    }
+
+    /**
+     * Reads a {@code v4/launches} array.
+     *
+     * @param in the upstream response body
+     * @return the projected launches in upstream order
+     * @throws IOException if the stream cannot be read or is not a JSON array
+     */
+    public static List<LaunchRow> readLaunches(InputStream in) throws IOException {
+        return readLaunches(in, null);
+    }
+
+    /**
+     * Reads a {@code v4/launches} array, keeping only launches of the given rocket.
+     *
+     * @param in       the upstream response body
+     * @param rocketId the rocket to keep, or null to keep every launch
+     * @return the matching launches in upstream order
+     * @throws IOException if the stream cannot be read or is not a JSON array
+     */
+    public static List<LaunchRow> readLaunches(InputStream in, String rocketId) throws IOException {
+        List<LaunchRow> launches = new ArrayList<>();
+        readLaunches(in, rocketId, launches::add);
+        return launches;
+    }
+
+    /**
+     * Reads a {@code v4/launches} array and hands each matching launch to the sink as soon as it is parsed.
+     *
+     * @param in       the upstream response body
+     * @param rocketId the rocket to keep, or null to keep every launch
+     * @param sink     receives each matching launch
+     * @throws IOException if the stream cannot be read or is not a JSON array
+     */
+    public static void readLaunches(InputStream in, String rocketId, Consumer<LaunchRow> sink) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            readLaunches(parser, rocketId, sink);
+        }
+    }
+
+    /**
+     * Reads launch objects from a parser positioned before a JSON array.
+     *
+     * @param parser   the parser to read from
+     * @param rocketId the rocket to keep, or null to keep every launch
+     * @param sink     receives each matching launch
+     * @throws IOException if the input is not a JSON array
+     */
+    static void readLaunches(JsonParser parser, String rocketId, Consumer<LaunchRow> sink) throws IOException {
+        expectArray(parser);
+        while (nextObject(parser)) {
+            LaunchRow launch = readLaunch(parser);
+            if (rocketId == null || rocketId.equals(launch.rocket())) {
+                sink.accept(launch);
+            }
+        }
+    }
+
+    /**
+     * Reads one page of a {@code v4/launches/query} response, handing each document to the sink.
+     *
+     * @param in   the upstream response body
+     * @param sink receives each launch on the page
+     * @return the page's pagination details
+     * @throws IOException if the stream cannot be read or is not a paginated query result
+     */
+    public static QueryPage readLaunchQueryPage(InputStream in, Consumer<LaunchRow> sink) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object but found " + parser.currentToken());
+            }
+            int[] docs = new int[1];
+            int totalDocs = -1;
+            boolean hasNextPage = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (field.equals("docs")) {
+                    readLaunches(parser, null, launch -> {
+                        docs[0]++;
+                        sink.accept(launch);
+                    });
+                    continue;
+                }
+                JsonToken value = parser.nextToken();
+                if (field.equals("hasNextPage")) {
+                    hasNextPage = value == JsonToken.VALUE_TRUE;
+                } else if (field.equals("totalDocs") && value == JsonToken.VALUE_NUMBER_INT) {
+                    totalDocs = parser.getIntValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new QueryPage(docs[0], totalDocs, hasNextPage);
+        }
+    }
+
+    private static List<RocketRow> readRockets(JsonParser parser) throws IOException {
+        expectArray(parser);
+        List<RocketRow> rockets = new ArrayList<>();
+        while (nextObject(parser)) {
+            rockets.add(readRocket(parser));
+        }
+        return rockets;
+    }
+
+    private static LaunchRow readLaunch(JsonParser parser) throws IOException {
+        String id = null;
+        String name = null;
+        String rocket = null;
+        Integer dateUnix = null;
+        String launchpad = null;
+        List<String> payloads = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = readText(parser, value);
+                case "name" -> name = readText(parser, value);
+                case "rocket" -> rocket = readText(parser, value);
+                case "date_unix" -> dateUnix = readInt(parser, value);
+                case "launchpad" -> launchpad = readText(parser, value);
+                case "payloads" -> payloads = readTextArray(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new LaunchRow(id, name, rocket, dateUnix, launchpad, payloads);
+    }
+
+    private static RocketRow readRocket(JsonParser parser) throws IOException {
+        String id = null;
+        String name = null;
+        Boolean active = null;
+        Integer successRatePct = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = readText(parser, value);
+                case "name" -> name = readText(parser, value);
+                case "active" -> active = value.isBoolean() ? Boolean.valueOf(parser.getBooleanValue()) : skip(parser);
+                case "success_rate_pct" -> successRatePct = readInt(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new RocketRow(id, name, active, successRatePct);
+    }
+
+    /**
+     * Advances to the next object element of an array, skipping elements that are not objects,
+     * such as nulls, so that one odd element does not end the array early.
+     *
+     * @return true when positioned at the start of an object, false at the end of the array
+     * @throws IOException if the input ends inside the array
+     */
+    private static boolean nextObject(JsonParser parser) throws IOException {
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of input inside an array");
+            }
+            if (token == JsonToken.START_OBJECT) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static void expectArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected a JSON array but found " + parser.currentToken());
+        }
+    }
+
+    private static String readText(JsonParser parser, JsonToken value) throws IOException {
+        return value.isScalarValue() && value != JsonToken.VALUE_NULL ? parser.getText() : skip(parser);
+    }
+
+    /**
+     * Reads an array of ids; null and non-text elements are dropped.
+     */
+    private static List<String> readTextArray(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            return skip(parser);
+        }
+        List<String> texts = new ArrayList<>();
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+            String text = readText(parser, element);
+            if (text != null) {
+                texts.add(text);
+            }
+        }
+        return texts;
+    }
+
+    private static Integer readInt(JsonParser parser, JsonToken value) throws IOException {
+        return value.isNumeric() ? Integer.valueOf(parser.getIntValue()) : skip(parser);
+    }
+
+    /**
+     * Skips an unexpected value (including any nested structure) and yields null for the field.
+     */
+    private static <T> T skip(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return null;
+    }
+}
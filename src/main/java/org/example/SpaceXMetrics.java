@@ -0,0 +1,261 @@
+package org.example;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation of upstream calls, parsing and caching.
+ * Meters are exposed for scraping at {@code /actuator/prometheus}:
+ * <ul>
+ *   <li>{@code spacex.upstream.requests}: upstream latency histogram per endpoint and outcome</li>
+ *   <li>{@code spacex.upstream.response.size}: upstream body size in bytes per endpoint</li>
+ *   <li>{@code spacex.upstream.parse}: time to parse an upstream body as it streams in</li>
+ *   <li>{@code spacex.upstream.in.flight}: upstream requests currently open</li>
+ *   <li>{@code spacex.upstream.coalesced}: callers that joined another caller's fetch</li>
+ *   <li>{@code spacex.upstream.rejected}: requests refused by the circuit breaker or the bulkhead</li>
+ *   <li>{@code spacex.upstream.circuit.state}: 0 closed, 1 open, 2 half-open</li>
+ *   <li>{@code spacex.response.cache.requests}: response cache lookups by result (hit or miss)</li>
+ *   <li>{@code spacex.launches.returned} and {@code spacex.launches.snapshot.rows}: launches returned per lookup
+ *   against the number held in the snapshot</li>
+ *   <li>{@code spacex.updates.subscribers}: clients connected to the {@code /api/updates} stream</li>
+ *   <li>{@code spacex.snapshot.loads}: snapshot loads per snapshot and tier served from (l1, l2 or upstream)</li>
+ *   <li>{@code cache.*} tagged {@code cache=spacex.snapshot.l1}: size, hits, misses and evictions of the L1 snapshot cache</li>
+ * </ul>
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class SpaceXMetrics {
+    private final MeterRegistry registry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final DistributionSummary launchesReturned;
+
+    @Autowired
+    public SpaceXMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("spacex.upstream.in.flight", inFlight, AtomicInteger::get)
+                .description("Upstream requests currently open")
+                .register(registry);
+        this.cacheHits = cacheCounter("hit");
+        this.cacheMisses = cacheCounter("miss");
+        this.launchesReturned = DistributionSummary.builder("spacex.launches.returned")
+                .description("Launches returned per single-rocket lookup")
+                .register(registry);
+    }
+
+    /**
+     * Starts timing one upstream request; close the returned call when the request has completed.
+     *
+     * @param endpoint the upstream endpoint, e.g. {@code v4/launches}
+     * @return the running call, with outcome "error" until marked otherwise
+     */
+    UpstreamCall upstreamCall(String endpoint) {
+        return new UpstreamCall(endpoint);
+    }
+
+    /**
+     * Counts a caller that shared another caller's in-flight fetch instead of issuing its own.
+     *
+     * @param endpoint the upstream endpoint
+     */
+    void coalesced(String endpoint) {
+        registry.counter("spacex.upstream.coalesced", "endpoint", endpoint).increment();
+    }
+
+    /**
+     * Counts an upstream request refused before it was sent.
+     *
+     * @param endpoint the upstream endpoint
+     * @param reason   {@code circuit_open} or {@code bulkhead_full}
+     */
+    void rejected(String endpoint, String reason) {
+        registry.counter("spacex.upstream.rejected", "endpoint", endpoint, "reason", reason).increment();
+    }
+
+    /**
+     * Reports the upstream circuit breaker state, read at scrape time.
+     *
+     * @param state supplies the state's ordinal
+     */
+    void bindCircuitState(Supplier<Number> state) {
+        Gauge.builder("spacex.upstream.circuit.state", state)
+                .description("Upstream circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+    }
+
+    void cacheHit() {
+        cacheHits.increment();
+    }
+
+    void cacheMiss() {
+        cacheMisses.increment();
+    }
+
+    void launchesReturned(int count) {
+        launchesReturned.record(count);
+    }
+
+    /**
+     * Reports the number of launches held in the snapshot, read at scrape time.
+     *
+     * @param rows supplies the current row count
+     */
+    void bindLaunchSnapshotRows(Supplier<Number> rows) {
+        Gauge.builder("spacex.launches.snapshot.rows", rows)
+                .description("Launches held in the in-memory snapshot")
+                .register(registry);
+    }
+
+    /**
+     * Reports the number of clients subscribed to snapshot updates, read at scrape time.
+     *
+     * @param subscribers supplies the current subscriber count
+     */
+    void bindUpdateSubscribers(Supplier<Number> subscribers) {
+        Gauge.builder("spacex.updates.subscribers", subscribers)
+                .description("Clients connected to the snapshot update stream")
+                .register(registry);
+    }
+
+    /**
+     * Counts one snapshot load by the cache tier that served it.
+     *
+     * @param snapshot the snapshot name, {@code rockets} or {@code launches}
+     * @param source   {@code l1}, {@code l2} or {@code upstream}
+     */
+    void snapshotLoaded(String snapshot, String source) {
+        registry.counter("spacex.snapshot.loads", "snapshot", snapshot, "source", source).increment();
+    }
+
+    /**
+     * Reports the size, hit and eviction statistics of the L1 snapshot cache.
+     *
+     * @param cache the cache, built with {@code recordStats()}
+     */
+    void bindSnapshotL1(Cache<?, ?> cache) {
+        CaffeineCacheMetrics.monitor(registry, cache, "spacex.snapshot.l1");
+    }
+
+    private Counter cacheCounter(String result) {
+        return Counter.builder("spacex.response.cache.requests")
+                .description("Response cache lookups")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * One timed upstream request. Counted as in flight from creation until {@link #close()}.
+     */
+    final class UpstreamCall implements AutoCloseable {
+        private final String endpoint;
+        private final long start = System.nanoTime();
+        private String outcome = "error";
+
+        private UpstreamCall(String endpoint) {
+            this.endpoint = endpoint;
+            inFlight.incrementAndGet();
+        }
+
+        /**
+         * Parses the response body, timing the parse and counting the bytes read.
+         *
+         * @param body   the upstream response body
+         * @param parser the parser to apply
+         * @param <T>    the parsed result type
+         * @return the parsed body
+         * @throws IOException if the body cannot be read or parsed
+         */
+        <T> T parse(InputStream body, SpaceXRocketsApi.ResponseParser<T> parser) throws IOException {
+            CountingInputStream counted = new CountingInputStream(body);
+            long parseStart = System.nanoTime();
+            T result = parser.parse(counted);
+            Timer.builder("spacex.upstream.parse")
+                    .description("Time to parse an upstream body, including reading it from the wire")
+                    .tag("endpoint", endpoint)
+                    .register(registry)
+                    .record(System.nanoTime() - parseStart, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("spacex.upstream.response.size")
+                    .description("Upstream response body size")
+                    .baseUnit("bytes")
+                    .tag("endpoint", endpoint)
+                    .register(registry)
+                    .record(counted.count);
+            this.outcome = "success";
+            return result;
+        }
+
+        /**
+         * Marks the request as answered with 304 Not Modified.
+         */
+        void notModified() {
+            this.outcome = "not_modified";
+        }
+
+        @Override
+        public void close() {
+            inFlight.decrementAndGet();
+            Timer.builder("spacex.upstream.requests")
+                    .description("Upstream request latency")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Counts the bytes a parser pulls from the upstream body.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
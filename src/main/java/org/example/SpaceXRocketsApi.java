@@ -2,11 +2,37 @@ package org.example;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.ResourceAccessException;
 
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.example.SpaceXJsonReader.LaunchRow;
+import org.example.SpaceXJsonReader.QueryPage;
+import org.example.SpaceXJsonReader.RocketRow;
+
 
 /**
  * Service class for interacting with the SpaceX API endpoints.
@@ -18,74 +44,326 @@ import org.springframework.stereotype.Service;
  */
 @Service
 public class SpaceXRocketsApi {
+    /**
+     * Parses an upstream response body straight from the wire.
+     *
+     * @param <T> the parsed result type
+     */
+    @FunctionalInterface
+    public interface ResponseParser<T> {
+        T parse(InputStream body) throws IOException;
+    }
+
+    /**
+     * Validators and parsed body remembered from the last successful response of an endpoint.
+     *
+     * @param parser       the parser that produced the body; validators are only reused with the same parser
+     * @param etag         the ETag response header, may be null
+     * @param lastModified the Last-Modified response header, may be null
+     * @param body         the parsed body returned again on 304 Not Modified
+     */
+    private record CachedResponse(ResponseParser<?> parser, String etag, String lastModified, Object body) {
+    }
+
+    /**
+     * Identifies an upstream fetch that concurrent callers can share.
+     *
+     * @param endpoint the SpaceX API endpoint
+     * @param variant  the parser applied to the response, or the rocket id of a launch query
+     */
+    private record FetchKey(String endpoint, Object variant) {
+    }
+
+    private static final ResponseParser<List<RocketRow>> ROCKETS_PARSER =
+            body -> Collections.unmodifiableList(SpaceXJsonReader.readRockets(body));
+
+    private static final ResponseParser<List<LaunchRow>> LAUNCHES_PARSER =
+            body -> Collections.unmodifiableList(SpaceXJsonReader.readLaunches(body));
+
+    private static final ResponseParser<Map<String, String>> NAMES_PARSER =
+            body -> Collections.unmodifiableMap(SpaceXJsonReader.readNames(body));
+
     private final RestTemplate restTemplate;
 
+    /**
+     * Last validated response per endpoint, used for conditional revalidation.
+     */
+    private final Map<String, CachedResponse> conditionalCache = new ConcurrentHashMap<>();
+
+    /**
+     * Fetches currently running, so concurrent callers for the same endpoint join instead of refetching.
+     */
+    private final Map<FetchKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
     @Value("${spacex.api.url}")
     private String spaceXApiUrl;
 
-    @Autowired
+    /**
+     * Number of launches requested per page from the v4 query API.
+     */
+    @Value("${spacex.launches.query-page-size:100}")
+    private int queryPageSize = 100;
+
+    /**
+     * Upper bound on the pages requested for one rocket, in case the upstream never reports a last page.
+     */
+    @Value("${spacex.launches.query-max-pages:50}")
+    private int queryMaxPages = 50;
+
+    /**
+     * JSON object mapper used to write query request bodies.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SpaceXMetrics metrics;
+
+    /**
+     * Circuit breaker and bulkhead applied to every upstream request.
+     */
+    private final UpstreamGuard guard;
+
     public SpaceXRocketsApi(RestTemplate restTemplate) {
+        this(restTemplate, new SpaceXMetrics(new SimpleMeterRegistry()));
+    }
+
+    public SpaceXRocketsApi(RestTemplate restTemplate, SpaceXMetrics metrics) {
+        this(restTemplate, metrics, new UpstreamGuard(5, 30_000, 10, 500, metrics));
+    }
+
+    @Autowired
+    public SpaceXRocketsApi(RestTemplate restTemplate, SpaceXMetrics metrics, UpstreamGuard guard) {
         this.restTemplate = restTemplate;
+        this.metrics = metrics;
+        this.guard = guard;
     }
 
     /**
-     * Fetch data from a given API endpoint
+     * Fetch data from SpaceX API and parse the response body as it streams in,
+     * without buffering the whole document.
+     * Concurrent callers for the same endpoint and parser share a single upstream request
+     * and receive the same parsed result (or the same failure).
      *
-     * @param url The API endpoint URL
-     * @return The response as a String
+     * @param endpoint The SpaceX API endpoint (e.g., "v4/rockets", "v4/launches")
+     * @param parser   Parser applied to the response body stream
+     * @return The parsed response
+     * @throws RestClientException if the request fails or the body cannot be parsed
      */
-    protected String getApiResponse(String url) {
+    protected <T> T getSpaceXData(String endpoint, ResponseParser<T> parser) {
+        return shared(new FetchKey(endpoint, parser), () -> fetchSpaceXData(endpoint, parser));
+    }
+
+    /**
+     * Runs a fetch, or joins the one already running under the same key.
+     *
+     * @param key   identifies the fetch
+     * @param fetch performs the fetch when none is running
+     * @return the result of the fetch, shared by every caller that joined it
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T shared(FetchKey key, Supplier<T> fetch) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            metrics.coalesced(key.endpoint());
+            return (T) awaitShared(running);
+        }
         try {
-            return restTemplate.getForObject(url, String.class);
-        } catch (org.springframework.web.client.RestClientException e) {
-            return "Error fetching data: " + e.getMessage();
+            T body = fetch.get();
+            call.complete(body);
+            return body;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
         }
     }
 
     /**
-     * Fetch JSON data and convert to a specific class
+     * Waits for a fetch started by another caller and rethrows its failure unchanged.
+     * The wait ends early at the caller's {@link UpstreamDeadline} or when the caller is interrupted;
+     * the shared fetch itself carries on for the other callers.
      *
-     * @param url          The API endpoint URL
-     * @param responseType The class to convert the response to
-     * @return The parsed response object
+     * @param running the shared fetch
+     * @return the parsed response of the shared fetch
+     * @throws ResourceAccessException if the deadline passes or the caller is interrupted first
      */
-    public <T> T getApiResponse(String url, Class<T> responseType) {
+    private static Object awaitShared(CompletableFuture<Object> running) {
+        long remaining = UpstreamDeadline.remainingNanos();
         try {
-            return restTemplate.getForObject(url, responseType);
-        } catch (RestClientException e) {
-            System.err.println("Error fetching data: " + e.getMessage());
-            return null;
+            return remaining == Long.MAX_VALUE ? running.get() : running.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new ResourceAccessException("Shared SpaceX API fetch failed: " + e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResourceAccessException("Timed out waiting for a shared SpaceX API fetch");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for a shared SpaceX API fetch");
         }
     }
 
     /**
-     * Fetch data from SpaceX API
+     * Performs a single upstream fetch, streaming the body into the parser.
+     * The request is conditional when the endpoint was fetched before with the same parser:
+     * on 304 Not Modified the previously parsed body is returned and the parser is not invoked.
      *
-     * @param endpoint The SpaceX API endpoint (e.g., "rockets", "launches")
-     * @return The API response as a String
+     * @param endpoint The SpaceX API endpoint (e.g., "v4/rockets", "v4/launches")
+     * @param parser   Parser applied to the response body stream
+     * @return The parsed response
+     * @throws RestClientException if the request fails or the body cannot be parsed
      */
-    protected String getSpaceXData(String endpoint) {
+    @SuppressWarnings("unchecked")
+    private <T> T fetchSpaceXData(String endpoint, ResponseParser<T> parser) {
         String url = spaceXApiUrl + "/" + endpoint;
-        return getApiResponse(url);
+        CachedResponse cached = conditionalCache.get(endpoint);
+        CachedResponse validators = cached != null && cached.parser() == parser ? cached : null;
+        return guard.call(endpoint, () -> {
+            try (SpaceXMetrics.UpstreamCall call = metrics.upstreamCall(endpoint)) {
+                return restTemplate.execute(url, HttpMethod.GET,
+                        request -> {
+                            if (validators == null) {
+                                return;
+                            }
+                            if (validators.etag() != null) {
+                                request.getHeaders().setIfNoneMatch(validators.etag());
+                            }
+                            if (validators.lastModified() != null) {
+                                request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, validators.lastModified());
+                            }
+                        },
+                        response -> {
+                            if (validators != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                                call.notModified();
+                                return (T) validators.body();
+                            }
+                            T body = call.parse(response.getBody(), parser);
+                            String etag = response.getHeaders().getETag();
+                            String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+                            if (etag != null || lastModified != null) {
+                                conditionalCache.put(endpoint, new CachedResponse(parser, etag, lastModified, body));
+                            } else {
+                                conditionalCache.remove(endpoint);
+                            }
+                            return body;
+                        });
+            }
+        });
+    }
+
+    /**
+     * Retrieves the projected fields of all SpaceX rockets.
+     *
+     * @return rockets in upstream order; the same instance is returned while the upstream reports no change
+     * @throws RestClientException if the request fails or the body cannot be parsed
+     * @since 1.0
+     */
+    public List<RocketRow> getRockets() {
+        return getSpaceXData("v4/rockets", ROCKETS_PARSER);
     }
 
     /**
-     * Retrieves data about all SpaceX rockets.
+     * Retrieves the projected fields of all SpaceX launches.
      *
-     * @return JSON string containing information about all SpaceX rockets
+     * @return launches in upstream order; the same instance is returned while the upstream reports no change
+     * @throws RestClientException if the request fails or the body cannot be parsed
      * @since 1.0
      */
-    public String getRocketsData() {
-        return getSpaceXData("v4/rockets");
+    public List<LaunchRow> getAllLaunches() {
+        return getSpaceXData("v4/launches", LAUNCHES_PARSER);
     }
 
     /**
-     * Retrieves data about all SpaceX launches.
+     * Retrieves the names of all SpaceX launchpads.
      *
-     * @return JSON string containing information about all SpaceX launches
+     * @return launchpad name by id; the same instance is returned while the upstream reports no change
+     * @throws RestClientException if the request fails or the body cannot be parsed
      * @since 1.0
      */
-    public String getAllLaunchesData() {
-        return getSpaceXData("v4/launches");
+    public Map<String, String> getLaunchpadNames() {
+        return getSpaceXData("v4/launchpads", NAMES_PARSER);
+    }
+
+    /**
+     * Retrieves the names of all SpaceX payloads.
+     *
+     * @return payload name by id; the same instance is returned while the upstream reports no change
+     * @throws RestClientException if the request fails or the body cannot be parsed
+     * @since 1.0
+     */
+    public Map<String, String> getPayloadNames() {
+        return getSpaceXData("v4/payloads", NAMES_PARSER);
+    }
+
+    /**
+     * Retrieves the launches of a single rocket through the v4 query API.
+     * The filter and the field projection run upstream, so only the matching launches
+     * and only their id, name, rocket and date_unix fields cross the network.
+     * Concurrent callers for the same rocket share a single paginated query and receive the same list.
+     *
+     * @param rocketId the rocket whose launches to fetch
+     * @return launches of the rocket, oldest first; unmodifiable
+     * @throws RestClientException if a page request fails or cannot be parsed
+     * @since 1.0
+     */
+    public List<LaunchRow> queryLaunchesByRocket(String rocketId) {
+        return shared(new FetchKey("v4/launches/query", rocketId), () -> {
+            List<LaunchRow> launches = new ArrayList<>();
+            queryLaunchesByRocket(rocketId, launches::add);
+            return Collections.unmodifiableList(launches);
+        });
+    }
+
+    /**
+     * Streams the launches of a single rocket through the v4 query API.
+     * Each launch is handed to the sink as soon as it is parsed from the response,
+     * so at most one launch is held in memory at a time.
+     * Pages are requested until the upstream reports no further page, returns an empty page, or the pages
+     * needed for the total it reported on the first page have been read; {@code spacex.launches.query-max-pages}
+     * bounds the loop when it reports no total.
+     *
+     * @param rocketId the rocket whose launches to fetch
+     * @param sink     receives each launch, oldest first
+     * @throws RestClientException if a page request fails or cannot be parsed
+     * @since 1.0
+     */
+    public void queryLaunchesByRocket(String rocketId, Consumer<LaunchRow> sink) {
+        String url = spaceXApiUrl + "/v4/launches/query";
+        int lastPage = queryMaxPages;
+        for (int page = 1; page <= lastPage; page++) {
+            Map<String, Object> query = Map.of(
+                    "query", Map.of("rocket", rocketId),
+                    "options", Map.of(
+                            // id is always returned, so it does not need to be selected
+                            "select", Map.of("name", 1, "rocket", 1, "date_unix", 1),
+                            "sort", Map.of("date_unix", "asc"),
+                            "page", page,
+                            "limit", queryPageSize,
+                            "pagination", true));
+            QueryPage result = guard.call("v4/launches/query", () -> {
+                try (SpaceXMetrics.UpstreamCall call = metrics.upstreamCall("v4/launches/query")) {
+                    return restTemplate.execute(url, HttpMethod.POST,
+                            request -> {
+                                request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                                request.getBody().write(objectMapper.writeValueAsBytes(query));
+                            },
+                            response -> call.parse(response.getBody(),
+                                    body -> SpaceXJsonReader.readLaunchQueryPage(body, sink)));
+                }
+            });
+            if (result == null || !result.hasNextPage() || result.docs() == 0) {
+                return;
+            }
+            if (page == 1 && result.totalDocs() >= 0) {
+                lastPage = Math.min(lastPage, Math.ceilDiv(result.totalDocs(), queryPageSize));
+            }
+        }
+        System.err.println("Stopped paging v4/launches/query for rocket " + rocketId + " after " + lastPage
+                + " pages although the upstream reports more");
     }
 }
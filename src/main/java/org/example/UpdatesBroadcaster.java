@@ -0,0 +1,290 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.example.LaunchesController.LaunchDTO;
+import org.example.RocketsController.RocketDTO;
+import org.example.SpaceXJsonReader.RocketRow;
+
+/**
+ * Broadcasts snapshot changes to connected clients as Server-Sent Events.
+ * Each change is turned into a compact diff once and queued to every subscriber:
+ * a {@code rockets} event lists the rockets added or changed and the ids removed, and a {@code launches}
+ * event carries the full launch lists of only the rockets in the change set.
+ * <p>
+ * Connections are asynchronous requests, so an idle client holds no request thread. Each subscriber
+ * has its own bounded queue drained by a virtual thread, which keeps events in order per client and
+ * keeps a slow client from delaying the others; a client whose queue overflows is disconnected and
+ * reloads on reconnect.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class UpdatesBroadcaster {
+    public static final String ROCKETS = "rockets";
+    public static final String LAUNCHES = "launches";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Diff of the rockets snapshot.
+     *
+     * @param upserted rockets that are new or whose fields changed
+     * @param removed  ids of rockets no longer listed
+     */
+    public record RocketsUpdate(List<RocketDTO> upserted, List<String> removed) {
+    }
+
+    /**
+     * Diff of the launches snapshot.
+     *
+     * @param rockets the complete launch list of each rocket whose launches changed
+     * @param reload  true when the changed rockets are unknown and clients should reload what they show
+     */
+    public record LaunchesUpdate(Map<String, List<LaunchDTO>> rockets, boolean reload) {
+    }
+
+    /**
+     * Where a subscriber's events are written.
+     */
+    @FunctionalInterface
+    interface UpdateSink {
+        /**
+         * Writes one event.
+         *
+         * @param name the event name, or null for a keep-alive comment
+         * @param data the JSON payload, or null for a keep-alive comment
+         * @throws IOException if the client went away
+         */
+        void send(String name, String data) throws IOException;
+    }
+
+    private record Message(String name, String data) {
+    }
+
+    private static final Message HEARTBEAT = new Message(null, null);
+    private static final Message CLOSE = new Message(null, null);
+
+    private final RocketSnapshotService rocketSnapshotService;
+    private final LaunchSnapshotService launchSnapshotService;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Serializes diffing against {@link #lastRockets}; change events can arrive from both refresh threads.
+     */
+    private final ReentrantLock diffLock = new ReentrantLock();
+
+    /**
+     * Rockets the last {@code rockets} event was computed against.
+     */
+    private List<RocketRow> lastRockets;
+
+    @Value("${spacex.updates.timeout-ms:1800000}")
+    private long timeoutMs = 1800000;
+
+    @Value("${spacex.updates.queue-size:32}")
+    private int queueSize = 32;
+
+    public UpdatesBroadcaster(RocketSnapshotService rocketSnapshotService, LaunchSnapshotService launchSnapshotService) {
+        this(rocketSnapshotService, launchSnapshotService, new SpaceXMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Autowired
+    public UpdatesBroadcaster(RocketSnapshotService rocketSnapshotService, LaunchSnapshotService launchSnapshotService,
+                              SpaceXMetrics metrics) {
+        this.rocketSnapshotService = rocketSnapshotService;
+        this.launchSnapshotService = launchSnapshotService;
+        metrics.bindUpdateSubscribers(subscribers::size);
+    }
+
+    /**
+     * Opens an update stream for one client.
+     *
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = subscribe((name, data) -> emitter.send(name == null
+                ? SseEmitter.event().comment("keep-alive")
+                : SseEmitter.event().name(name).data(data)));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscriber.onOverflow = emitter::complete;
+        return emitter;
+    }
+
+    /**
+     * Registers a subscriber writing to the given sink and starts its delivery thread.
+     *
+     * @param sink receives the subscriber's events in order
+     * @return the subscriber
+     */
+    Subscriber subscribe(UpdateSink sink) {
+        Subscriber subscriber = new Subscriber(sink, queueSize);
+        subscribers.add(subscriber);
+        // A first comment commits the response, so the client sees the stream open right away
+        subscriber.offer(HEARTBEAT);
+        Thread.ofVirtual().name("sse-updates").start(subscriber::deliver);
+        return subscriber;
+    }
+
+    /**
+     * Number of connected subscribers.
+     *
+     * @return the subscriber count
+     */
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Sends the diff of the changed snapshot to every subscriber.
+     *
+     * @param event the snapshot change
+     */
+    @EventListener
+    public void onSnapshotChanged(SnapshotChangedEvent event) {
+        if (SnapshotChangedEvent.NAMES.equals(event.snapshot())) {
+            // Names are only shown in enriched launches, which clients fetch on demand
+            return;
+        }
+        Message message = SnapshotChangedEvent.ROCKETS.equals(event.snapshot())
+                ? new Message(ROCKETS, json(rocketsUpdate()))
+                : new Message(LAUNCHES, json(launchesUpdate(event.rocketIds())));
+        broadcast(message);
+    }
+
+    /**
+     * Sends a keep-alive comment so proxies do not close idle streams.
+     */
+    @Scheduled(fixedDelayString = "${spacex.updates.heartbeat-ms:15000}")
+    public void heartbeat() {
+        broadcast(HEARTBEAT);
+    }
+
+    private void broadcast(Message message) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(message);
+        }
+    }
+
+    private RocketsUpdate rocketsUpdate() {
+        diffLock.lock();
+        try {
+            List<RocketRow> current = rocketSnapshotService.snapshot();
+            if (current == null) {
+                return new RocketsUpdate(List.of(), List.of());
+            }
+            Map<String, RocketRow> previous = new LinkedHashMap<>();
+            if (lastRockets != null) {
+                lastRockets.forEach(rocket -> previous.put(rocket.id(), rocket));
+            }
+            List<RocketRow> upserted = new ArrayList<>();
+            for (RocketRow rocket : current) {
+                if (!rocket.equals(previous.remove(rocket.id()))) {
+                    upserted.add(rocket);
+                }
+            }
+            lastRockets = current;
+            return new RocketsUpdate(RocketsController.getRocketsDTO(upserted), List.copyOf(previous.keySet()));
+        } finally {
+            diffLock.unlock();
+        }
+    }
+
+    private LaunchesUpdate launchesUpdate(Set<String> rocketIds) {
+        LaunchStore store = launchSnapshotService.snapshot();
+        if (rocketIds == null || store == null) {
+            return new LaunchesUpdate(Map.of(), true);
+        }
+        Map<String, List<LaunchDTO>> launches = new LinkedHashMap<>();
+        for (String rocketId : rocketIds) {
+            launches.put(rocketId, store.launchesOf(rocketId));
+        }
+        return new LaunchesUpdate(launches, false);
+    }
+
+    private static String json(Object update) {
+        try {
+            return MAPPER.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * One connected client: a bounded queue of pending events and the virtual thread writing them.
+     */
+    final class Subscriber {
+        private final UpdateSink sink;
+        private final BlockingQueue<Message> queue;
+        private volatile Runnable onOverflow = () -> {
+        };
+
+        private Subscriber(UpdateSink sink, int capacity) {
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void offer(Message message) {
+            if (!queue.offer(message) && unregister()) {
+                // The client is not keeping up; drop it rather than buffer without bound
+                onOverflow.run();
+            }
+        }
+
+        private void deliver() {
+            try {
+                for (Message message = queue.take(); message != CLOSE; message = queue.take()) {
+                    sink.send(message.name(), message.data());
+                }
+            } catch (IOException | RuntimeException e) {
+                // The client went away; the emitter callbacks or this close unregister it
+                close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Unregisters the subscriber and stops its delivery thread after the event it is writing.
+         * Events still queued are discarded: the connection has already completed, timed out or failed
+         * when this is called, and an overflowing queue has to make room for the stop marker.
+         */
+        void close() {
+            unregister();
+        }
+
+        private boolean unregister() {
+            if (!subscribers.remove(this)) {
+                return false;
+            }
+            queue.clear();
+            queue.offer(CLOSE);
+            return true;
+        }
+    }
+}
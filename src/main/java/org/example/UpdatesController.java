@@ -0,0 +1,34 @@
+package org.example;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller streaming snapshot changes to clients as Server-Sent Events.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/updates")
+public class UpdatesController {
+    private final UpdatesBroadcaster updatesBroadcaster;
+
+    @Autowired
+    public UpdatesController(UpdatesBroadcaster updatesBroadcaster) {
+        this.updatesBroadcaster = updatesBroadcaster;
+    }
+
+    /**
+     * Subscribes to {@code rockets} and {@code launches} diff events, sent whenever a snapshot changes.
+     *
+     * @return the event stream; it stays open until the client disconnects or the stream times out
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter updates() {
+        return updatesBroadcaster.subscribe();
+    }
+}
@@ -0,0 +1,90 @@
+package org.example;
+
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Deadline for the upstream work done on the current thread, such as a dashboard subtask loading a cold snapshot.
+ * Waits on the way to the SpaceX API honour it: the snapshot locks, joining a fetch already in flight,
+ * the bulkhead and the request itself, which is cancelled once the deadline passes.
+ * Every wait is also interruptible, so a caller cancelling the thread does not wait for it either.
+ * Without a deadline the waits are bounded only by their own timeouts.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+final class UpstreamDeadline {
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private UpstreamDeadline() {
+    }
+
+    /**
+     * Runs the work with the given deadline applied to its upstream waits.
+     *
+     * @param deadlineNanos the deadline, in {@link System#nanoTime()} terms
+     * @param work          the work to run
+     * @param <T>           the result type
+     * @return the work's result
+     * @throws Exception if the work fails
+     */
+    static <T> T within(long deadlineNanos, Callable<T> work) throws Exception {
+        Long previous = DEADLINE.get();
+        DEADLINE.set(previous == null || deadlineNanos - previous < 0 ? deadlineNanos : previous);
+        try {
+            return work.call();
+        } finally {
+            if (previous == null) {
+                DEADLINE.remove();
+            } else {
+                DEADLINE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Returns the time left until the current thread's deadline.
+     *
+     * @return the remaining nanoseconds, zero once passed, or {@link Long#MAX_VALUE} without a deadline
+     */
+    static long remainingNanos() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : Math.max(0, deadline - System.nanoTime());
+    }
+
+    /**
+     * Bounds a timeout by the current thread's deadline.
+     *
+     * @param timeoutMs the timeout, zero or less for none
+     * @return the timeout in nanoseconds, or {@link Long#MAX_VALUE} if neither bounds the wait
+     */
+    static long boundNanos(long timeoutMs) {
+        long timeoutNanos = timeoutMs > 0 ? TimeUnit.MILLISECONDS.toNanos(timeoutMs) : Long.MAX_VALUE;
+        return Math.min(timeoutNanos, remainingNanos());
+    }
+
+    /**
+     * Acquires a snapshot lock, giving up at the deadline or when the thread is interrupted.
+     *
+     * @param lock     the lock
+     * @param snapshot the snapshot it guards, for the error message
+     * @throws ResourceAccessException if the lock is not acquired
+     */
+    static void lock(ReentrantLock lock, String snapshot) {
+        long remaining = remainingNanos();
+        try {
+            if (remaining == Long.MAX_VALUE) {
+                lock.lockInterruptibly();
+            } else if (!lock.tryLock(remaining, TimeUnit.NANOSECONDS)) {
+                throw new ResourceAccessException("Timed out waiting for the " + snapshot + " to load");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for the " + snapshot + " to load");
+        }
+    }
+}
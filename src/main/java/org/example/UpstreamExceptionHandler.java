@@ -0,0 +1,34 @@
+package org.example;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Map;
+
+/**
+ * Maps upstream failures that reach a controller to 503 Service Unavailable.
+ * This only happens while no snapshot has been loaded yet; once one has, requests are served from it.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@RestControllerAdvice
+public class UpstreamExceptionHandler {
+    /**
+     * Retry-After sent with the 503, in seconds.
+     */
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    @ExceptionHandler(RestClientException.class)
+    public ResponseEntity<Map<String, String>> upstreamUnavailable(RestClientException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", RETRY_AFTER_SECONDS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", "SpaceX data is temporarily unavailable: " + e.getMessage()));
+    }
+}
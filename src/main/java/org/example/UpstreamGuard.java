@@ -0,0 +1,178 @@
+package org.example;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and bulkhead in front of every SpaceX API request.
+ * After a run of consecutive failures the circuit opens and requests fail immediately instead of
+ * each waiting out the full timeout; once the open period has passed a single trial request is let
+ * through, closing the circuit on success or reopening it on failure. A request only affects the state it was
+ * admitted in, so a slow request admitted while the circuit was closed cannot close it again after it has opened.
+ * Independently, a semaphore caps concurrent upstream requests so a slow upstream cannot tie up
+ * every request thread and pooled connection. Waiting for a slot also ends at the caller's {@link UpstreamDeadline}.
+ * Rejections are raised as {@link ResourceAccessException}, like any other upstream I/O failure.
+ *
+ * @author Michael Harris
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class UpstreamGuard {
+    /**
+     * Circuit breaker state.
+     */
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Semaphore bulkhead;
+    private final long maxWaitMs;
+    private final SpaceXMetrics metrics;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * Incremented on every state change; a finished request is only counted if nothing changed since it was admitted.
+     */
+    private long generation;
+
+    @Autowired
+    public UpstreamGuard(@Value("${spacex.circuit.failure-threshold:5}") int failureThreshold,
+                         @Value("${spacex.circuit.open-ms:30000}") long openMs,
+                         @Value("${spacex.bulkhead.max-concurrent:10}") int maxConcurrent,
+                         @Value("${spacex.bulkhead.max-wait-ms:500}") long maxWaitMs,
+                         SpaceXMetrics metrics) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+        this.bulkhead = new Semaphore(maxConcurrent, true);
+        this.maxWaitMs = maxWaitMs;
+        this.metrics = metrics;
+        metrics.bindCircuitState(() -> state().ordinal());
+    }
+
+    /**
+     * Runs one upstream request under the circuit breaker and the bulkhead.
+     * Client errors (4xx) mean the upstream is reachable and do not count as failures.
+     *
+     * @param endpoint the upstream endpoint, for metrics
+     * @param request  the request to run
+     * @param <T>      the result type
+     * @return the request's result
+     * @throws ResourceAccessException if the circuit is open or no upstream slot frees up in time
+     */
+    <T> T call(String endpoint, Supplier<T> request) {
+        long admitted = tryEnter();
+        if (admitted < 0) {
+            metrics.rejected(endpoint, "circuit_open");
+            throw new ResourceAccessException("SpaceX API circuit is open; failing fast");
+        }
+        if (!acquireSlot()) {
+            abandonTrial(admitted);
+            metrics.rejected(endpoint, "bulkhead_full");
+            throw new ResourceAccessException("Too many concurrent SpaceX API requests");
+        }
+        try {
+            T result = request.get();
+            onSuccess(admitted);
+            return result;
+        } catch (HttpClientErrorException e) {
+            onSuccess(admitted);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            onFailure(admitted);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Returns the circuit state, moving an open circuit to half-open once its open period has passed.
+     *
+     * @return the current state
+     */
+    synchronized State state() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            moveTo(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    /**
+     * Admits a request if the circuit allows it.
+     *
+     * @return the generation the request was admitted in, or -1 if it is rejected
+     */
+    private synchronized long tryEnter() {
+        return switch (state()) {
+            case CLOSED -> generation;
+            case OPEN -> -1;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield -1;
+                }
+                trialInFlight = true;
+                yield generation;
+            }
+        };
+    }
+
+    private boolean acquireSlot() {
+        try {
+            return bulkhead.tryAcquire(UpstreamDeadline.boundNanos(maxWaitMs), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private synchronized void abandonTrial(long admitted) {
+        if (admitted == generation) {
+            trialInFlight = false;
+        }
+    }
+
+    private synchronized void onSuccess(long admitted) {
+        if (admitted != generation) {
+            // Admitted before the circuit last changed state; only the trial may close it
+            return;
+        }
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            moveTo(State.CLOSED);
+        }
+    }
+
+    private synchronized void onFailure(long admitted) {
+        if (admitted != generation) {
+            // Admitted before the circuit opened; the failure is already accounted for
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            System.err.println("Opening SpaceX API circuit after " + consecutiveFailures + " consecutive failures");
+            trialInFlight = false;
+            openedAt = System.nanoTime();
+            moveTo(State.OPEN);
+        }
+    }
+
+    private void moveTo(State next) {
+        state = next;
+        generation++;
+    }
+}
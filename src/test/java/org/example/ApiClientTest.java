@@ -3,13 +3,21 @@ package org.example;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
 
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 public class ApiClientTest {
 
@@ -17,6 +25,12 @@ public class ApiClientTest {
     private SpaceXRocketsApi spaceXRocketsApi;
     private final String baseUrl = "https://api.spacexdata.com/v4";
 
+    /**
+     * Reads the whole body as text.
+     */
+    private final SpaceXRocketsApi.ResponseParser<String> text =
+            body -> new String(body.readAllBytes(), StandardCharsets.UTF_8);
+
     @BeforeEach
     void setUp() throws Exception {
         // Create a mocked RestTemplate and a real ApiClient using that mock
@@ -38,19 +52,17 @@ public class ApiClientTest {
         // Setup
         String mockResponse = "{\"name\": \"Falcon 9\"}";
         String mockEndpoint = "rockets";
-        String mockUrl = baseUrl + "/" + mockEndpoint;
-
-        Mockito.when(restTemplate.getForObject(mockUrl, String.class)).thenReturn(mockResponse);
+        respond(baseUrl + "/" + mockEndpoint, mockResponse);
 
         // Execute
-        String result = spaceXRocketsApi.getSpaceXData(mockEndpoint);
+        String result = spaceXRocketsApi.getSpaceXData(mockEndpoint, text);
 
         // Verify
         assertEquals(mockResponse, result);
     }
 
     /**
-     * Test to verify that getSpaceXData returns a formatted error message
+     * Test to verify that getSpaceXData propagates the failure
      * when the SpaceX API call fails with an exception.
      */
     @Test
@@ -59,15 +71,14 @@ public class ApiClientTest {
         String mockEndpoint = "rockets";
         String mockUrl = baseUrl + "/" + mockEndpoint;
 
-        Mockito.when(restTemplate.getForObject(mockUrl, String.class))
+        Mockito.when(restTemplate.execute(eq(mockUrl), eq(HttpMethod.GET), any(RequestCallback.class),
+                        any(ResponseExtractor.class)))
                 .thenThrow(new RestClientException("API call failed"));
 
-        // Execute
-        String result = spaceXRocketsApi.getSpaceXData(mockEndpoint);
-
-        // Verify
-        assertTrue(result.contains("Error fetching data:"));
-        assertTrue(result.contains("API call failed"));
+        // Execute and verify
+        RestClientException e = assertThrows(RestClientException.class,
+                () -> spaceXRocketsApi.getSpaceXData(mockEndpoint, text));
+        assertEquals("API call failed", e.getMessage());
     }
 
     /**
@@ -80,14 +91,21 @@ public class ApiClientTest {
         String mockEndpoint = "launches";
         String mockResponse = "[{\"id\": \"1\"}]";
         String mockUrl = baseUrl + "/" + mockEndpoint;
-
-        Mockito.when(restTemplate.getForObject(mockUrl, String.class)).thenReturn(mockResponse);
+        respond(mockUrl, mockResponse);
 
         // Execute
-        String result = spaceXRocketsApi.getSpaceXData(mockEndpoint);
+        String result = spaceXRocketsApi.getSpaceXData(mockEndpoint, text);
 
         // Verify
-        Mockito.verify(restTemplate).getForObject(mockUrl, String.class);
+        Mockito.verify(restTemplate).execute(eq(mockUrl), eq(HttpMethod.GET), any(RequestCallback.class),
+                any(ResponseExtractor.class));
         assertEquals(mockResponse, result);
     }
-}
\ No newline at end of file
+
+    private void respond(String url, String body) {
+        Mockito.when(restTemplate.execute(eq(url), eq(HttpMethod.GET), any(RequestCallback.class),
+                        any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3).extractData(
+                        new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK)));
+    }
+}
@@ -0,0 +1,171 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class DashboardServiceTest {
+
+    private static final List<SpaceXJsonReader.RocketRow> ROCKETS = List.of(
+            new SpaceXJsonReader.RocketRow("r2", "Falcon 9", true, 98),
+            new SpaceXJsonReader.RocketRow("r3", "Starship", true, null));
+
+    private static final List<SpaceXJsonReader.LaunchRow> LAUNCHES = List.of(
+            new SpaceXJsonReader.LaunchRow("l1", "CRS-1", "r2", 1349656500));
+
+    private SpaceXRocketsApi api;
+    private LaunchSnapshotService launchSnapshotService;
+    private DashboardService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        api = Mockito.mock(SpaceXRocketsApi.class);
+        launchSnapshotService = new LaunchSnapshotService(api);
+        service = new DashboardService(new RocketSnapshotService(api), launchSnapshotService);
+        var timeout = DashboardService.class.getDeclaredField("timeoutMs");
+        timeout.setAccessible(true);
+        timeout.set(service, 2000L);
+    }
+
+    @Test
+    void load_fetchesRocketsAndLaunchesConcurrently() {
+        CountDownLatch launchesStarted = new CountDownLatch(1);
+        when(api.getAllLaunches()).thenAnswer(invocation -> {
+            launchesStarted.countDown();
+            return LAUNCHES;
+        });
+        // Only completes if the launches fetch runs while the rockets fetch is still in progress
+        when(api.getRockets()).thenAnswer(invocation -> {
+            assertTrue(launchesStarted.await(1, TimeUnit.SECONDS), "Launches should be fetched concurrently");
+            return ROCKETS;
+        });
+
+        DashboardService.Dashboard dashboard = service.load();
+
+        assertEquals(2, dashboard.rockets().size());
+        assertEquals(List.of("r2", "r3"), List.copyOf(dashboard.launches().keySet()));
+        assertEquals(1, dashboard.launches().get("r2").size());
+        assertTrue(dashboard.launches().get("r3").isEmpty());
+    }
+
+    @Test
+    void load_failsFastAndCancelsTheOtherLoad() {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(api.getRockets()).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return ROCKETS;
+        });
+        when(api.getAllLaunches()).thenThrow(new org.springframework.web.client.ResourceAccessException("down"));
+
+        long start = System.nanoTime();
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, service::load);
+
+        assertEquals(HttpStatus.BAD_GATEWAY, e.getStatusCode());
+        assertEquals(0, interrupted.getCount(), "The rockets load should be cancelled");
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500,
+                "The failure should not wait for the rockets load or the deadline");
+    }
+
+    @Test
+    void load_cancelsAndFailsAtTheSharedDeadline() {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(api.getRockets()).thenReturn(ROCKETS);
+        when(api.getAllLaunches()).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return LAUNCHES;
+        });
+
+        long start = System.nanoTime();
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, service::load);
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, e.getStatusCode());
+        assertEquals(0, interrupted.getCount(), "The slow load should be cancelled");
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 10_000);
+    }
+
+    @Test
+    void load_failsFastWhileTheOtherLoadWaitsOnTheSnapshotLock() throws Exception {
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // A background refresh holds the launch snapshot lock and ignores interrupts, like a blocked socket read
+        when(api.getAllLaunches()).thenAnswer(invocation -> {
+            refreshing.countDown();
+            while (true) {
+                try {
+                    release.await();
+                    return LAUNCHES;
+                } catch (InterruptedException ignored) {
+                    // Keep holding the lock
+                }
+            }
+        });
+        when(api.getRockets()).thenThrow(new org.springframework.web.client.ResourceAccessException("down"));
+        Thread refresh = Thread.ofPlatform().start(launchSnapshotService::refresh);
+        try {
+            assertTrue(refreshing.await(5, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            // Without an interruptible lock wait, load() would never return while the refresh holds the lock
+            ResponseStatusException e = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertThrows(ResponseStatusException.class, service::load));
+
+            assertEquals(HttpStatus.BAD_GATEWAY, e.getStatusCode());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500,
+                    "The launches load should stop waiting for the snapshot lock when cancelled");
+        } finally {
+            release.countDown();
+            refresh.join(5000);
+        }
+    }
+
+    @Test
+    void load_stopsWaitingOnTheSnapshotLockAtTheDeadline() throws Exception {
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(api.getAllLaunches()).thenAnswer(invocation -> {
+            refreshing.countDown();
+            while (true) {
+                try {
+                    release.await();
+                    return LAUNCHES;
+                } catch (InterruptedException ignored) {
+                    // Keep holding the lock
+                }
+            }
+        });
+        when(api.getRockets()).thenReturn(ROCKETS);
+        Thread refresh = Thread.ofPlatform().start(launchSnapshotService::refresh);
+        try {
+            assertTrue(refreshing.await(5, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            ResponseStatusException e = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertThrows(ResponseStatusException.class, service::load));
+
+            assertEquals(HttpStatus.GATEWAY_TIMEOUT, e.getStatusCode());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 4000,
+                    "The load should return at the 2 s deadline, not when the refresh releases the lock");
+        } finally {
+            release.countDown();
+            refresh.join(5000);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.example.EnrichedLaunchService.EnrichedLaunchDTO;
+import org.example.SpaceXJsonReader.LaunchRow;
+import org.example.SpaceXJsonReader.RocketRow;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class EnrichedLaunchServiceTest {
+
+    private static final List<RocketRow> ROCKETS = List.of(
+            new RocketRow("r1", "Falcon 1", false, 40),
+            new RocketRow("r2", "Falcon 9", true, 98));
+
+    private static final List<LaunchRow> LAUNCHES = List.of(
+            new LaunchRow("l1", "CRS-1", "r2", 1349656500, "lp1", List.of("p1", "p-unknown", "p2")),
+            new LaunchRow("l2", "Trailblazer", "r1", 1217648040, "lp2", List.of()),
+            new LaunchRow("l3", "Mystery", "r9", null, null, List.of()),
+            new LaunchRow("l4", "No rocket", null, 1349656500, "lp-unknown", List.of("p2")));
+
+    private static final Map<String, String> LAUNCHPADS = Map.of("lp1", "CCSFS SLC 40", "lp2", "Kwajalein Atoll");
+    private static final Map<String, String> PAYLOADS = Map.of("p1", "Dragon", "p2", "Orbcomm-OG2");
+
+    private SpaceXRocketsApi api;
+    private EnrichedLaunchService service;
+
+    @BeforeEach
+    void setUp() {
+        api = Mockito.mock(SpaceXRocketsApi.class);
+        when(api.getRockets()).thenReturn(ROCKETS);
+        when(api.getAllLaunches()).thenReturn(LAUNCHES);
+        when(api.getLaunchpadNames()).thenReturn(LAUNCHPADS);
+        when(api.getPayloadNames()).thenReturn(PAYLOADS);
+        service = new EnrichedLaunchService(new LaunchSnapshotService(api), new RocketSnapshotService(api),
+                new ReferenceSnapshotService(api));
+    }
+
+    @Test
+    void getLaunches_joinsEveryLaunchToItsNames() {
+        List<EnrichedLaunchDTO> launches = service.getLaunches(null);
+
+        assertEquals(List.of(
+                new EnrichedLaunchDTO("l1", "CRS-1", "Oct 07, 2012", "r2", "Falcon 9",
+                        "lp1", "CCSFS SLC 40", List.of("Dragon", "Orbcomm-OG2")),
+                new EnrichedLaunchDTO("l2", "Trailblazer", "Aug 01, 2008", "r1", "Falcon 1",
+                        "lp2", "Kwajalein Atoll", List.of()),
+                new EnrichedLaunchDTO("l3", "Mystery", "", "r9", null, null, null, List.of()),
+                new EnrichedLaunchDTO("l4", "No rocket", "Oct 07, 2012", null, null,
+                        "lp-unknown", null, List.of("Orbcomm-OG2"))), launches);
+    }
+
+    @Test
+    void getLaunches_limitsToOneRocket() {
+        assertEquals(List.of("l1"), service.getLaunches("r2").stream().map(EnrichedLaunchDTO::id).toList());
+        assertEquals(List.of(), service.getLaunches("unknown"));
+    }
+
+    @Test
+    void getLaunches_joinsOncePerSnapshotCombination() {
+        EnrichedLaunchDTO first = service.getLaunches(null).get(0);
+
+        assertSame(first, service.getLaunches("r2").get(0));
+        verify(api, times(1)).getAllLaunches();
+        verify(api, times(1)).getLaunchpadNames();
+    }
+
+    @Test
+    void getLaunches_rejoinsAfterASnapshotChanged() {
+        RocketSnapshotService rockets = new RocketSnapshotService(api);
+        service = new EnrichedLaunchService(new LaunchSnapshotService(api), rockets, new ReferenceSnapshotService(api));
+        assertEquals("Falcon 9", service.getLaunches("r2").get(0).rocketName());
+
+        List<RocketRow> renamed = new ArrayList<>(ROCKETS);
+        renamed.set(1, new RocketRow("r2", "Falcon 9 Block 5", true, 98));
+        when(api.getRockets()).thenReturn(renamed);
+        rockets.refresh();
+
+        assertEquals("Falcon 9 Block 5", service.getLaunches("r2").get(0).rocketName());
+    }
+}
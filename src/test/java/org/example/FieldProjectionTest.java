@@ -0,0 +1,83 @@
+package org.example;
+
+import org.example.LaunchesController.LaunchDTO;
+import org.example.LaunchesController.LaunchPageDTO;
+import org.example.RocketsController.RocketDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldProjectionTest {
+
+    private final FieldProjection projection = new FieldProjection(16);
+
+    @Test
+    void parse_trimsAndDropsEmptyNames() {
+        assertEquals(Set.of("id", "name"), FieldProjection.parse(" id, ,name,"));
+        assertTrue(FieldProjection.parse(" , ").isEmpty());
+    }
+
+    @Test
+    void project_keepsRequestedComponentsInDeclarationOrder() {
+        Object projected = projection.project(new RocketDTO("r2", "Falcon 9", true, 97), Set.of("name", "id"));
+
+        assertEquals(List.of("id", "name"), List.copyOf(((Map<?, ?>) projected).keySet()));
+        assertEquals(Map.of("id", "r2", "name", "Falcon 9"), projected);
+    }
+
+    @Test
+    void project_ignoresUnknownFields() {
+        Object projected = projection.project(List.of(new RocketDTO("r2", "Falcon 9", true, 97)), Set.of("id", "bogus"));
+
+        assertEquals(List.of(Map.of("id", "r2")), projected);
+    }
+
+    @Test
+    void project_keepsWrapperComponentsAndProjectsNestedRecords() {
+        LaunchPageDTO page = new LaunchPageDTO(List.of(new LaunchDTO("l1", "FalconSat", "r1", "Mar 24, 2006")), "next");
+
+        Object projected = projection.project(page, Set.of("name"));
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("launches", List.of(Map.of("name", "FalconSat")));
+        expected.put("nextCursor", "next");
+        assertEquals(expected, projected, "fields apply to the launches, the page keeps its cursor");
+    }
+
+    @Test
+    void project_projectsMapValues() {
+        Map<String, List<LaunchDTO>> byRocket = new LinkedHashMap<>();
+        byRocket.put("r1", List.of(new LaunchDTO("l1", "FalconSat", "r1", "Mar 24, 2006")));
+        byRocket.put("r9", List.of());
+
+        Object projected = projection.project(byRocket, Set.of("id"));
+
+        assertEquals(List.of("r1", "r9"), List.copyOf(((Map<?, ?>) projected).keySet()));
+        assertEquals(List.of(Map.of("id", "l1")), ((Map<?, ?>) projected).get("r1"));
+        assertEquals(List.of(), ((Map<?, ?>) projected).get("r9"));
+    }
+
+    @Test
+    void project_returnsBodiesWithoutRecordsUnchanged() {
+        Map<String, String> error = Map.of("error", "unavailable");
+        List<String> names = List.of("a", "b");
+
+        assertSame(error, projection.project(error, Set.of("id")));
+        assertSame(names, projection.project(names, Set.of("id")));
+        assertEquals("text", projection.project("text", Set.of("id")));
+    }
+
+    @Test
+    void project_keepsValueListsOnlyWhenRequested() {
+        EnrichedLaunchService.EnrichedLaunchDTO launch = new EnrichedLaunchService.EnrichedLaunchDTO(
+                "l1", "FalconSat", "Mar 24, 2006", "r1", "Falcon 1", "p1", "Kwajalein", List.of("FalconSAT-2"));
+
+        assertEquals(Map.of("id", "l1"), projection.project(launch, Set.of("id")));
+        assertEquals(Map.of("payloadNames", List.of("FalconSAT-2")), projection.project(launch, Set.of("payloadNames")));
+    }
+}
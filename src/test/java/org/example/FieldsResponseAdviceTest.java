@@ -0,0 +1,55 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.RocketsController.RocketDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldsResponseAdviceTest {
+
+    private final FieldsResponseAdvice advice = new FieldsResponseAdvice();
+
+    private final List<RocketDTO> rockets = List.of(
+            new RocketDTO("r1", "Falcon 1", false, 40),
+            new RocketDTO("r2", "Falcon 9", true, 97));
+
+    private Object write(Object body, String fields) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rockets/all");
+        if (fields != null) {
+            request.setParameter(FieldsResponseAdvice.FIELDS_PARAM, fields);
+        }
+        return advice.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(new MockHttpServletResponse()));
+    }
+
+    @Test
+    void withoutFields_bodyIsUntouched() {
+        assertSame(rockets, write(rockets, null));
+        assertSame(rockets, write(rockets, " , "));
+    }
+
+    @Test
+    void withFields_projectedBodySerializesAsItsValue() throws Exception {
+        Object body = write(rockets, "id,name");
+
+        String expected = "[{\"id\":\"r1\",\"name\":\"Falcon 1\"},{\"id\":\"r2\",\"name\":\"Falcon 9\"}]";
+        assertEquals(expected, JsonMapper.builder().build().writeValueAsString(body), "Spring MVC converters");
+        assertEquals(expected, new ObjectMapper().writeValueAsString(body), "MessagePack converter");
+    }
+
+    @Test
+    void bodyWithoutRecords_isLeftForItsConverter() {
+        String error = "not found";
+
+        assertSame(error, write(error, "id"));
+    }
+}
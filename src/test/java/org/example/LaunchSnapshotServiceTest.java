@@ -0,0 +1,97 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class LaunchSnapshotServiceTest {
+
+    private static final String JSON = "[" +
+            "{\"id\":\"l1\",\"name\":\"CRS-1\",\"rocket\":\"r2\",\"date_unix\":1349656500}," +
+            "{\"id\":\"l2\",\"name\":\"Starlink 1\",\"rocket\":\"r2\"}," +
+            "{\"id\":\"l3\",\"name\":\"Demo\",\"rocket\":\"r9\"}," +
+            "{\"id\":\"l4\",\"name\":\"Orphan\"}" +
+            "]";
+
+    private SpaceXRocketsApi api;
+    private LaunchSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        api = Mockito.mock(SpaceXRocketsApi.class);
+        service = new LaunchSnapshotService(api);
+    }
+
+    @Test
+    void getLaunches_groupsByRocketWithoutUpstreamCalls() throws Exception {
+        when(api.getAllLaunches()).thenReturn(readLaunches(JSON));
+        service.refresh();
+
+        List<LaunchesController.LaunchDTO> r2 = service.getLaunches("r2");
+        List<LaunchesController.LaunchDTO> r9 = service.getLaunches("r9");
+
+        assertEquals(2, r2.size());
+        assertEquals("Oct 07, 2012", r2.get(0).date());
+        assertEquals("", r2.get(1).date(), "Missing date_unix should map to an empty date");
+        assertEquals(1, r9.size());
+        assertTrue(service.getLaunches("unknown").isEmpty());
+        verify(api, times(1)).getAllLaunches();
+        verify(api, never()).queryLaunchesByRocket(anyString());
+    }
+
+    @Test
+    void getLaunches_queriesSingleRocketBeforeFirstRefresh() throws Exception {
+        when(api.queryLaunchesByRocket("r9"))
+                .thenReturn(List.of(new SpaceXJsonReader.LaunchRow("l3", "Demo", "r9", 1349656500)));
+
+        List<LaunchesController.LaunchDTO> r9 = service.getLaunches("r9");
+
+        assertEquals(List.of(new LaunchesController.LaunchDTO("l3", "Demo", "r9", "Oct 07, 2012")), r9);
+        verify(api, never()).getAllLaunches();
+    }
+
+    @Test
+    void scheduledRefresh_keepsPreviousSnapshotOnFailure() throws Exception {
+        when(api.getAllLaunches())
+                .thenReturn(readLaunches(JSON))
+                .thenThrow(new ResourceAccessException("boom"));
+
+        service.refresh();
+        service.scheduledRefresh();
+
+        assertEquals(2, service.getLaunches("r2").size());
+        verify(api, times(2)).getAllLaunches();
+    }
+
+    @Test
+    void refresh_publishesOnlyTheRocketsWhoseLaunchesChanged() throws Exception {
+        List<Object> events = new java.util.ArrayList<>();
+        service = new LaunchSnapshotService(api, events::add);
+        List<SpaceXJsonReader.LaunchRow> launches = readLaunches(JSON);
+        List<SpaceXJsonReader.LaunchRow> changed = new java.util.ArrayList<>(launches);
+        changed.set(2, new SpaceXJsonReader.LaunchRow("l3", "Demo 2", "r9", null));
+        when(api.getAllLaunches()).thenReturn(launches, readLaunches(JSON), changed);
+
+        service.refresh();
+        service.refresh();
+        service.refresh();
+
+        assertEquals(List.of(new SnapshotChangedEvent(SnapshotChangedEvent.LAUNCHES),
+                new SnapshotChangedEvent(SnapshotChangedEvent.LAUNCHES, java.util.Set.of("r9"))), events);
+        assertEquals("Demo 2", service.getLaunches("r9").get(0).name());
+    }
+
+    private static List<SpaceXJsonReader.LaunchRow> readLaunches(String json) throws Exception {
+        return SpaceXJsonReader.readLaunches(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,70 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LaunchStatsTest {
+
+    private static final int DAY = 86_400;
+
+    @Test
+    void compute_aggregatesEachRocket() {
+        LaunchStore store = LaunchStore.of(List.of(
+                new SpaceXJsonReader.LaunchRow("l1", "A", "r1", 1262430000),
+                new SpaceXJsonReader.LaunchRow("l2", "B", "r2", 1300000000),
+                new SpaceXJsonReader.LaunchRow("l3", "C", "r1", 1262430000 + 10 * DAY),
+                new SpaceXJsonReader.LaunchRow("l4", "D", "r1", null),
+                new SpaceXJsonReader.LaunchRow("l5", "E", "r1", 1262430000 + 400 * DAY)));
+
+        LaunchStats stats = LaunchStats.compute(store, ForkJoinPool.commonPool());
+
+        LaunchStats.RocketStatsDTO r1 = stats.of("r1");
+        assertEquals(4, r1.launches());
+        assertEquals("Jan 02, 2010", r1.firstLaunch());
+        assertEquals("Feb 06, 2011", r1.lastLaunch());
+        assertEquals(Map.of(2010, 2, 2011, 1), r1.launchesPerYear());
+        assertEquals(200.0, r1.meanDaysBetweenLaunches());
+
+        LaunchStats.RocketStatsDTO r2 = stats.of("r2");
+        assertEquals(1, r2.launches());
+        assertEquals(r2.firstLaunch(), r2.lastLaunch());
+        assertNull(r2.meanDaysBetweenLaunches());
+    }
+
+    @Test
+    void of_returnsEmptyStatsForRocketsWithoutLaunches() {
+        LaunchStats.RocketStatsDTO stats = LaunchStats.compute(LaunchStore.of(List.of()), ForkJoinPool.commonPool())
+                .of("r9");
+
+        assertEquals(new LaunchStats.RocketStatsDTO("r9", 0, "", "", new TreeMap<>(), null), stats);
+    }
+
+    @Test
+    void compute_mergesPartialsAcrossForkedRanges() {
+        List<SpaceXJsonReader.LaunchRow> launches = new ArrayList<>();
+        int rows = LaunchStats.SEQUENTIAL_ROWS * 5 + 3;
+        for (int i = 0; i < rows; i++) {
+            launches.add(new SpaceXJsonReader.LaunchRow("l" + i, "L", "r" + (i % 3), 1262430000 + i * DAY));
+        }
+
+        LaunchStats stats = LaunchStats.compute(LaunchStore.of(launches), new ForkJoinPool(4));
+
+        int total = 0;
+        for (int rocket = 0; rocket < 3; rocket++) {
+            LaunchStats.RocketStatsDTO rocketStats = stats.of("r" + rocket);
+            total += rocketStats.launches();
+            assertEquals(rocketStats.launches(),
+                    rocketStats.launchesPerYear().values().stream().mapToInt(Integer::intValue).sum());
+            assertEquals(3.0, rocketStats.meanDaysBetweenLaunches(), 1e-9);
+        }
+        assertEquals(rows, total);
+        assertEquals("Jan 02, 2010", stats.of("r0").firstLaunch());
+    }
+}
@@ -0,0 +1,198 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LaunchStoreTest {
+
+    private static final List<SpaceXJsonReader.LaunchRow> ROWS = List.of(
+            new SpaceXJsonReader.LaunchRow("l1", "Starlink", "r2", 1349656500),
+            new SpaceXJsonReader.LaunchRow("l2", "Demo", "r9", null),
+            new SpaceXJsonReader.LaunchRow("l3", new String("Starlink"), "r2", 1349660000),
+            new SpaceXJsonReader.LaunchRow("l4", "Orphan", null, 1349656500));
+
+    @Test
+    void of_dictionaryEncodesRocketsAndGroupsRows() {
+        LaunchStore store = LaunchStore.of(ROWS);
+
+        assertEquals(4, store.size());
+        int r2 = store.rocketCode("r2");
+        assertNotEquals(LaunchStore.NO_ROCKET, r2);
+        assertArrayEquals(new int[]{0, 2}, store.rowsOf(r2));
+        assertEquals(LaunchStore.NO_ROCKET, store.rocketCode("unknown"));
+        assertEquals(0, store.rowsOf(LaunchStore.NO_ROCKET).length);
+        assertNull(store.rocketId(3));
+    }
+
+    @Test
+    void of_sharesRepeatedNamesAndDates() {
+        LaunchStore store = LaunchStore.of(ROWS);
+
+        assertSame(store.name(0), store.name(2));
+        assertSame(store.date(0), store.date(2));
+        assertEquals("Oct 07, 2012", store.date(0));
+        assertEquals("", store.date(1), "Missing date_unix should map to an empty date");
+        assertEquals(LaunchStore.NO_DATE, store.dateUnix(1));
+    }
+
+    @Test
+    void launchesOf_mapsRowsToDTOs() {
+        LaunchStore store = LaunchStore.of(ROWS);
+
+        assertEquals(List.of(
+                new LaunchesController.LaunchDTO("l1", "Starlink", "r2", "Oct 07, 2012"),
+                new LaunchesController.LaunchDTO("l3", "Starlink", "r2", "Oct 07, 2012")), store.launchesOf("r2"));
+        assertTrue(store.launchesOf("unknown").isEmpty());
+    }
+
+    private static final List<SpaceXJsonReader.LaunchRow> PAGED = List.of(
+            new SpaceXJsonReader.LaunchRow("a", "Echo", "r2", 300),
+            new SpaceXJsonReader.LaunchRow("b", "Alpha", "r2", 100),
+            new SpaceXJsonReader.LaunchRow("c", "Delta", "r9", 200),
+            new SpaceXJsonReader.LaunchRow("d", "Bravo", "r2", 200),
+            new SpaceXJsonReader.LaunchRow("e", "Charlie", "r2", null),
+            new SpaceXJsonReader.LaunchRow("f", null, "r2", 400));
+
+    @Test
+    void page_walksTheDateOrderWithCursors() {
+        LaunchStore store = LaunchStore.of(PAGED);
+
+        LaunchStore.Page first = store.page(null, LaunchStore.Sort.DATE, false, Long.MIN_VALUE, Long.MAX_VALUE, null, 3);
+        LaunchStore.Page second = store.page(null, LaunchStore.Sort.DATE, false, Long.MIN_VALUE, Long.MAX_VALUE, first.next(), 3);
+
+        assertEquals(List.of("e", "b", "c"), ids(first));
+        assertEquals(List.of("d", "a", "f"), ids(second), "Ties on date are broken by id");
+        assertNull(second.next());
+    }
+
+    @Test
+    void page_descendingByNameForOneRocket() {
+        LaunchStore store = LaunchStore.of(PAGED);
+
+        LaunchStore.Page first = store.page("r2", LaunchStore.Sort.NAME, true, Long.MIN_VALUE, Long.MAX_VALUE, null, 2);
+        LaunchStore.Page rest = store.page("r2", LaunchStore.Sort.NAME, true, Long.MIN_VALUE, Long.MAX_VALUE, first.next(), 10);
+
+        assertEquals(List.of("a", "e"), ids(first));
+        assertEquals(List.of("d", "b", "f"), ids(rest), "Null names sort first, so they come last when descending");
+        assertTrue(store.page("unknown", LaunchStore.Sort.NAME, false, Long.MIN_VALUE, Long.MAX_VALUE, null, 5)
+                .launches().isEmpty());
+    }
+
+    @Test
+    void page_dateRangeExcludesUndatedLaunchesInEveryOrder() {
+        LaunchStore store = LaunchStore.of(PAGED);
+
+        assertEquals(List.of("c", "d", "a"), ids(store.page(null, LaunchStore.Sort.DATE, false, 150, 400, null, 10)));
+        assertEquals(List.of("a", "c", "d"), ids(store.page(null, LaunchStore.Sort.ID, false, 150, 400, null, 10)));
+        assertEquals(List.of("b", "c", "d"), ids(store.page(null, LaunchStore.Sort.DATE, false, Long.MIN_VALUE, 300, null, 10)));
+    }
+
+    @Test
+    void page_cursorStaysValidAcrossSnapshots() {
+        LaunchStore.Page first = LaunchStore.of(PAGED)
+                .page(null, LaunchStore.Sort.ID, false, Long.MIN_VALUE, Long.MAX_VALUE, null, 2);
+        List<SpaceXJsonReader.LaunchRow> grown = new ArrayList<>(PAGED);
+        grown.add(new SpaceXJsonReader.LaunchRow("0", "Earlier", "r2", 50));
+
+        LaunchStore.Page next = LaunchStore.of(grown)
+                .page(null, LaunchStore.Sort.ID, false, Long.MIN_VALUE, Long.MAX_VALUE, first.next(), 2);
+
+        assertEquals(List.of("c", "d"), ids(next), "Rows inserted before the cursor must not shift the page");
+    }
+
+    private static List<String> ids(LaunchStore.Page page) {
+        return page.launches().stream().map(LaunchesController.LaunchDTO::id).toList();
+    }
+
+    @Test
+    void update_returnsTheSameStoreForAnIdenticalFeed() {
+        LaunchStore store = LaunchStore.of(ROWS);
+
+        assertSame(store, store.update(List.copyOf(ROWS)));
+    }
+
+    @Test
+    void update_reportsTheRocketsOfAddedChangedAndRemovedLaunches() {
+        LaunchStore store = LaunchStore.of(ROWS);
+        List<SpaceXJsonReader.LaunchRow> next = List.of(
+                new SpaceXJsonReader.LaunchRow("l1", "Starlink", "r2", 1349656500),
+                new SpaceXJsonReader.LaunchRow("l2", "Demo 2", "r9", null),
+                new SpaceXJsonReader.LaunchRow("l3", "Starlink", "r2", 1349660000),
+                new SpaceXJsonReader.LaunchRow("l5", "Crew-1", "r7", 1605484980));
+
+        LaunchStore updated = store.update(next);
+
+        assertEquals(java.util.Set.of("r9", "r7"), updated.changedRocketIdsSince(store));
+        assertNull(updated.changedRocketIdsSince(LaunchStore.of(ROWS)), "Unrelated stores have no known change set");
+        assertNull(store.changedRocketIdsSince(updated));
+        assertSame(store.name(0), updated.name(0), "Unchanged rows are carried over");
+        assertEquals(LaunchStore.of(next).launchesOf("r9"), updated.launchesOf("r9"));
+        assertEquals("Demo 2", updated.launchesOf("r9").get(0).name());
+        assertEquals(1, updated.launchesOf("r7").size());
+    }
+
+    @Test
+    void update_treatsAChangedLaunchpadOrPayloadAsAChangedLaunch() {
+        List<SpaceXJsonReader.LaunchRow> rows = List.of(
+                new SpaceXJsonReader.LaunchRow("l1", "Starlink", "r2", 1349656500, "lp1", List.of("p1")),
+                new SpaceXJsonReader.LaunchRow("l2", "Demo", "r9", null, "lp2", List.of()));
+        LaunchStore store = LaunchStore.of(rows);
+
+        assertSame(store, store.update(List.copyOf(rows)));
+        LaunchStore updated = store.update(List.of(
+                new SpaceXJsonReader.LaunchRow("l1", "Starlink", "r2", 1349656500, "lp1", List.of("p1", "p2")),
+                new SpaceXJsonReader.LaunchRow("l2", "Demo", "r9", null, "lp3", List.of())));
+
+        assertEquals(java.util.Set.of("r2", "r9"), updated.changedRocketIdsSince(store));
+        assertArrayEquals(new String[]{"p1", "p2"}, updated.payloadIds(0));
+        assertEquals("lp3", updated.launchpadId(1));
+        assertEquals(0, updated.payloadIds(1).length);
+    }
+
+    @Test
+    void update_matchesARebuildInEveryOrder() {
+        java.util.Random random = new java.util.Random(42);
+        List<SpaceXJsonReader.LaunchRow> current = randomLaunches(random, 300, 0);
+        LaunchStore store = LaunchStore.of(current);
+        for (int round = 1; round <= 20; round++) {
+            List<SpaceXJsonReader.LaunchRow> next = new ArrayList<>(current);
+            for (int i = 0; i < 5; i++) {
+                next.remove(random.nextInt(next.size()));
+                int changed = random.nextInt(next.size());
+                SpaceXJsonReader.LaunchRow fresh = randomLaunches(random, 1, 0).get(0);
+                next.set(changed, new SpaceXJsonReader.LaunchRow(next.get(changed).id(), fresh.name(), fresh.rocket(),
+                        fresh.dateUnix()));
+            }
+            next.addAll(randomLaunches(random, 7, round * 1000 + 100));
+
+            LaunchStore updated = store.update(next);
+            LaunchStore rebuilt = LaunchStore.of(next);
+
+            for (LaunchStore.Sort sort : LaunchStore.Sort.values()) {
+                for (String rocketId : java.util.Arrays.asList(null, "r0", "r1", "r2", "r3")) {
+                    assertEquals(rebuilt.page(rocketId, sort, false, Long.MIN_VALUE, Long.MAX_VALUE, null, 1000),
+                            updated.page(rocketId, sort, false, Long.MIN_VALUE, Long.MAX_VALUE, null, 1000),
+                            "round " + round + ", " + sort + ", " + rocketId);
+                }
+            }
+            for (String rocketId : List.of("r0", "r1", "r2", "r3")) {
+                assertEquals(rebuilt.launchesOf(rocketId), updated.launchesOf(rocketId));
+            }
+            store = updated;
+            current = next;
+        }
+    }
+
+    private static List<SpaceXJsonReader.LaunchRow> randomLaunches(java.util.Random random, int count, int firstId) {
+        List<SpaceXJsonReader.LaunchRow> launches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            launches.add(new SpaceXJsonReader.LaunchRow("l" + (firstId + i), "Mission " + random.nextInt(50),
+                    "r" + random.nextInt(4), random.nextInt(10) == 0 ? null : 1262304000 + random.nextInt(400) * 86400));
+        }
+        return launches;
+    }
+}
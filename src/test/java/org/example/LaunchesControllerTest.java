@@ -3,21 +3,31 @@ package org.example;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
 
 public class LaunchesControllerTest {
 
     private SpaceXRocketsApi api;
+    private LaunchSnapshotService snapshot;
     private LaunchesController controller;
 
     @BeforeEach
     void setUp() {
         api = Mockito.mock(SpaceXRocketsApi.class);
-        controller = new LaunchesController(api);
+        snapshot = new LaunchSnapshotService(api);
+        controller = new LaunchesController(snapshot);
     }
 
     @Test
@@ -27,9 +37,96 @@ public class LaunchesControllerTest {
                 "{\"id\":\"l2\",\"name\":\"Starlink 1\",\"rocket\":\"r2\"}," +
                 "{\"id\":\"l3\",\"name\":\"Demo\",\"rocket\":\"r9\"}" +
                 "]";
-        when(api.getAllLaunchesData()).thenReturn(json);
+        when(api.getAllLaunches()).thenReturn(readLaunches(json));
+        snapshot.refresh();
 
         List<?> filtered = controller.id("r2");
         assertEquals(2, filtered.size(), "Should return launches for the specified rocket id only");
     }
+
+    @Test
+    void byRocketIds_groupsLaunchesPerRequestedRocket() throws Exception {
+        String json = "[" +
+                "{\"id\":\"l1\",\"name\":\"CRS-1\",\"rocket\":\"r2\"}," +
+                "{\"id\":\"l2\",\"name\":\"Starlink 1\",\"rocket\":\"r2\"}," +
+                "{\"id\":\"l3\",\"name\":\"Demo\",\"rocket\":\"r9\"}" +
+                "]";
+        when(api.getAllLaunches()).thenReturn(readLaunches(json));
+
+        Map<String, List<LaunchesController.LaunchDTO>> grouped = controller.byRocketIds(" r9, r2,unknown,,r2");
+
+        assertEquals(List.of("r9", "r2", "unknown"), List.copyOf(grouped.keySet()));
+        assertEquals(1, grouped.get("r9").size());
+        assertEquals(2, grouped.get("r2").size());
+        assertTrue(grouped.get("unknown").isEmpty());
+        verify(api, times(1)).getAllLaunches();
+    }
+
+    @Test
+    void idNdjson_writesOneLaunchPerLineFromTheSnapshot() throws Exception {
+        String json = "[" +
+                "{\"id\":\"l1\",\"name\":\"CRS-1\",\"rocket\":\"r2\",\"date_unix\":1349656500}," +
+                "{\"id\":\"l2\",\"name\":\"Starlink 1\",\"rocket\":\"r2\"}," +
+                "{\"id\":\"l3\",\"name\":\"Demo\",\"rocket\":\"r9\"}" +
+                "]";
+        when(api.getAllLaunches()).thenReturn(readLaunches(json));
+        snapshot.refresh();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        controller.idNdjson("r2").writeTo(out);
+
+        assertEquals("{\"id\":\"l1\",\"name\":\"CRS-1\",\"rocket\":\"r2\",\"date\":\"Oct 07, 2012\"}\n" +
+                        "{\"id\":\"l2\",\"name\":\"Starlink 1\",\"rocket\":\"r2\",\"date\":\"\"}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void idEventStream_streamsFromTheUpstreamQueryBeforeTheFirstRefresh() throws Exception {
+        when(api.queryLaunchesByRocket("r2")).thenReturn(List.of(new SpaceXJsonReader.LaunchRow("l1", "CRS-1", "r2", null)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        controller.idEventStream("r2").writeTo(out);
+
+        assertEquals("data: {\"id\":\"l1\",\"name\":\"CRS-1\",\"rocket\":\"r2\",\"date\":\"\"}\n\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(api, never()).getAllLaunches();
+    }
+
+    @Test
+    void page_followsCursorsAndFiltersByDate() throws Exception {
+        String json = "[" +
+                "{\"id\":\"l1\",\"name\":\"CRS-1\",\"rocket\":\"r2\",\"date_unix\":1349656500}," +
+                "{\"id\":\"l2\",\"name\":\"CRS-2\",\"rocket\":\"r2\",\"date_unix\":1362165000}," +
+                "{\"id\":\"l3\",\"name\":\"Demo\",\"rocket\":\"r9\",\"date_unix\":1373000000}" +
+                "]";
+        when(api.getAllLaunches()).thenReturn(readLaunches(json));
+
+        LaunchesController.LaunchPageDTO first = controller.page(null, "date", "desc", null, null, null, 2);
+        LaunchesController.LaunchPageDTO second = controller.page(null, "date", "desc", null, null, first.nextCursor(), 2);
+        LaunchesController.LaunchPageDTO in2013 = controller.page("r2", "date", "asc", "2013-01-01", "2013-12-31", null, 20);
+
+        assertEquals(List.of("l3", "l2"), first.launches().stream().map(LaunchesController.LaunchDTO::id).toList());
+        assertEquals(List.of("l1"), second.launches().stream().map(LaunchesController.LaunchDTO::id).toList());
+        assertNull(second.nextCursor());
+        assertEquals(List.of("l2"), in2013.launches().stream().map(LaunchesController.LaunchDTO::id).toList());
+    }
+
+    @Test
+    void page_rejectsInvalidParameters() throws Exception {
+        when(api.getAllLaunches()).thenReturn(List.of());
+        String nameCursor = LaunchesController.encodeCursor(new LaunchStore.Cursor(LaunchStore.Sort.NAME, 0, "CRS-1", "l1"));
+
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> controller.page(null, "rocket", "asc", null, null, null, 20)).getStatusCode().value());
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> controller.page(null, "date", "asc", "yesterday", null, null, 20)).getStatusCode().value());
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> controller.page(null, "date", "asc", null, null, nameCursor, 20)).getStatusCode().value());
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> controller.page(null, "date", "asc", null, null, "%%%", 20)).getStatusCode().value());
+    }
+
+    private static List<SpaceXJsonReader.LaunchRow> readLaunches(String json) throws Exception {
+        return SpaceXJsonReader.readLaunches(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
 }
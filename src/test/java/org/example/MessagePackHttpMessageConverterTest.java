@@ -0,0 +1,40 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessagePackHttpMessageConverterTest {
+
+    private final MessagePackHttpMessageConverter converter = new MessagePackHttpMessageConverter();
+
+    @Test
+    void write_thenRead_roundTripsDTOs() throws Exception {
+        List<LaunchesController.LaunchDTO> launches = List.of(
+                new LaunchesController.LaunchDTO("l1", "CRS-1", "r2", "Oct 07, 2012"),
+                new LaunchesController.LaunchDTO("l2", "Starlink 1", "r2", ""));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(launches, null, output);
+
+        assertEquals(BinaryFormatsConfig.MSGPACK, output.getHeaders().getContentType());
+        byte[] body = output.getBodyAsBytes();
+        assertEquals((byte) 0x92, body[0], "A two-element list starts with a MessagePack fixarray header");
+        LaunchesController.LaunchDTO[] read = (LaunchesController.LaunchDTO[]) converter.read(
+                LaunchesController.LaunchDTO[].class, new MockHttpInputMessage(body));
+        assertEquals(launches, List.of(read));
+    }
+
+    @Test
+    void canWrite_onlyMessagePack() {
+        assertTrue(converter.canWrite(RocketsController.RocketDTO.class, BinaryFormatsConfig.MSGPACK));
+        assertFalse(converter.canWrite(RocketsController.RocketDTO.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(RocketsController.RocketDTO.class, null), "Not offered without negotiation");
+        assertFalse(converter.canWrite(RocketsController.RocketDTO.class, MediaType.ALL));
+    }
+}
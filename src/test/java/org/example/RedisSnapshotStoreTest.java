@@ -0,0 +1,64 @@
+package org.example;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RedisSnapshotStoreTest {
+
+    private RespStubServer redis;
+    private RedisSnapshotStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        redis = new RespStubServer();
+        store = new RedisSnapshotStore(redis.uri(), 2000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+        redis.close();
+    }
+
+    @Test
+    void put_storesPayloadUnderItsVersionAndPointsMetaAtIt() {
+        assertNull(store.meta("rockets"));
+
+        store.put("rockets", "v1", "[1]".getBytes(StandardCharsets.UTF_8), 1000);
+        store.put("rockets", "v2", "[2]".getBytes(StandardCharsets.UTF_8), 2000);
+
+        assertEquals(new SharedSnapshotStore.Meta("v2", 2000), store.meta("rockets"));
+        assertEquals("[2]", new String(store.data("rockets", "v2"), StandardCharsets.UTF_8));
+        // The previous version stays readable for replicas that read the old meta
+        assertEquals("[1]", new String(store.data("rockets", "v1"), StandardCharsets.UTF_8));
+        assertNull(store.data("rockets", "v3"));
+        assertEquals("v2:2000", redis.get("spacex:snapshot:rockets:meta"));
+    }
+
+    @Test
+    void tryLock_isExclusiveUntilReleasedByItsHolder() {
+        assertTrue(store.tryLock("launches", "a", 10000));
+        assertFalse(store.tryLock("launches", "b", 10000));
+
+        store.unlock("launches", "b");
+        assertFalse(store.tryLock("launches", "b", 10000));
+
+        store.unlock("launches", "a");
+        assertTrue(store.tryLock("launches", "b", 10000));
+        assertTrue(store.tryLock("rockets", "a", 10000));
+    }
+
+    @Test
+    void tryLock_expiresWhenNeverReleased() throws Exception {
+        assertTrue(store.tryLock("launches", "a", 50));
+
+        Thread.sleep(100);
+
+        assertTrue(store.tryLock("launches", "b", 10000));
+    }
+}
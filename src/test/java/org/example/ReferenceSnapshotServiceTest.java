@@ -0,0 +1,74 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReferenceSnapshotServiceTest {
+
+    private static final Map<String, String> LAUNCHPADS = Map.of("lp1", "KSC LC 39A");
+    private static final Map<String, String> PAYLOADS = Map.of("p1", "Dragon");
+
+    private SpaceXRocketsApi api;
+    private final List<Object> events = new ArrayList<>();
+    private ReferenceSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        api = Mockito.mock(SpaceXRocketsApi.class);
+        service = new ReferenceSnapshotService(api, events::add, new SnapshotCache());
+    }
+
+    @Test
+    void getNames_loadsOnceAndServesFromMemory() {
+        when(api.getLaunchpadNames()).thenReturn(LAUNCHPADS);
+        when(api.getPayloadNames()).thenReturn(PAYLOADS);
+
+        ReferenceSnapshotService.Names names = service.getNames();
+
+        assertSame(LAUNCHPADS, names.launchpads());
+        assertSame(PAYLOADS, names.payloads());
+        assertSame(names, service.getNames());
+        verify(api, times(1)).getLaunchpadNames();
+        verify(api, times(1)).getPayloadNames();
+    }
+
+    @Test
+    void refresh_publishesOnlyWhenEitherChanged() {
+        when(api.getLaunchpadNames()).thenReturn(LAUNCHPADS);
+        Map<String, String> changed = new HashMap<>(PAYLOADS);
+        changed.put("p9", "Renamed");
+        when(api.getPayloadNames()).thenReturn(PAYLOADS, PAYLOADS, new HashMap<>(PAYLOADS), changed);
+
+        service.refresh();
+        ReferenceSnapshotService.Names first = service.snapshot();
+        service.refresh();
+        assertSame(first, service.snapshot());
+        service.refresh();
+        assertSame(first, service.snapshot(), "Equal copies keep the current names");
+        service.refresh();
+
+        assertEquals(List.of(new SnapshotChangedEvent(SnapshotChangedEvent.NAMES),
+                new SnapshotChangedEvent(SnapshotChangedEvent.NAMES)), events);
+        assertNotSame(first, service.snapshot());
+    }
+
+    @Test
+    void restore_doesNotOverrideLiveData() {
+        when(api.getLaunchpadNames()).thenReturn(LAUNCHPADS);
+        when(api.getPayloadNames()).thenReturn(PAYLOADS);
+        service.refresh();
+
+        service.restore(new ReferenceSnapshotService.Names(Map.of(), Map.of()));
+
+        assertSame(LAUNCHPADS, service.snapshot().launchpads());
+    }
+}
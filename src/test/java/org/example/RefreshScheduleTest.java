@@ -0,0 +1,47 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RefreshScheduleTest {
+
+    @Test
+    void firstRefresh_isDueImmediately() {
+        assertTrue(new RefreshSchedule().isDue());
+    }
+
+    @Test
+    void success_waitsTheFullInterval() {
+        RefreshSchedule schedule = new RefreshSchedule();
+
+        schedule.succeeded(60_000);
+
+        assertFalse(schedule.isDue());
+    }
+
+    @Test
+    void failures_backOffExponentiallyUpToTheInterval() {
+        RefreshSchedule schedule = new RefreshSchedule();
+
+        assertEquals(1_000, schedule.failed(1_000, 10_000));
+        assertEquals(2_000, schedule.failed(1_000, 10_000));
+        assertEquals(4_000, schedule.failed(1_000, 10_000));
+        assertEquals(8_000, schedule.failed(1_000, 10_000));
+        assertEquals(10_000, schedule.failed(1_000, 10_000));
+        assertFalse(schedule.isDue());
+
+        schedule.succeeded(10_000);
+        assertEquals(1_000, schedule.failed(1_000, 10_000), "A success resets the backoff");
+    }
+
+    @Test
+    void shortRetry_becomesDue() throws Exception {
+        RefreshSchedule schedule = new RefreshSchedule();
+
+        schedule.failed(20, 60_000);
+        Thread.sleep(40);
+
+        assertTrue(schedule.isDue());
+    }
+}
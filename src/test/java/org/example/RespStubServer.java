@@ -0,0 +1,200 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Local stand-in for Redis speaking just enough RESP for {@link RedisSnapshotStore}:
+ * GET, SET with NX and PX, DEL and PING; any other command is answered with OK.
+ */
+class RespStubServer implements AutoCloseable {
+
+    private record Value(byte[] bytes, long expiresAt) {
+    }
+
+    private final ServerSocket server;
+    private final Map<String, Value> data = new ConcurrentHashMap<>();
+    private final List<Socket> clients = new CopyOnWriteArrayList<>();
+
+    RespStubServer() throws IOException {
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().start(this::accept);
+    }
+
+    URI uri() {
+        return URI.create("redis://127.0.0.1:" + server.getLocalPort());
+    }
+
+    /**
+     * Returns a stored string value, or null if absent or expired.
+     */
+    String get(String key) {
+        byte[] bytes = lookup(key);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    void set(String key, String value) {
+        data.put(key, new Value(value.getBytes(StandardCharsets.UTF_8), Long.MAX_VALUE));
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (Socket client : clients) {
+            client.close();
+        }
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                Socket client = server.accept();
+                clients.add(client);
+                Thread.ofVirtual().start(() -> serve(client));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (client) {
+            InputStream in = new BufferedInputStream(client.getInputStream());
+            OutputStream out = new BufferedOutputStream(client.getOutputStream());
+            List<byte[]> command;
+            while ((command = readCommand(in)) != null) {
+                execute(command, out);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    private void execute(List<byte[]> command, OutputStream out) throws IOException {
+        String name = new String(command.get(0), StandardCharsets.UTF_8).toUpperCase(Locale.ROOT);
+        switch (name) {
+            case "GET" -> writeBulk(out, lookup(key(command, 1)));
+            case "SET" -> {
+                boolean nx = false;
+                long expiresAt = Long.MAX_VALUE;
+                for (int i = 3; i < command.size(); i++) {
+                    String option = new String(command.get(i), StandardCharsets.UTF_8).toUpperCase(Locale.ROOT);
+                    if (option.equals("NX")) {
+                        nx = true;
+                    } else if (option.equals("PX")) {
+                        expiresAt = System.currentTimeMillis() + Long.parseLong(key(command, ++i));
+                    }
+                }
+                String key = key(command, 1);
+                Value value = new Value(command.get(2), expiresAt);
+                boolean stored;
+                if (nx) {
+                    synchronized (data) {
+                        stored = lookup(key) == null;
+                        if (stored) {
+                            data.put(key, value);
+                        }
+                    }
+                } else {
+                    data.put(key, value);
+                    stored = true;
+                }
+                if (stored) {
+                    writeLine(out, "+OK");
+                } else {
+                    writeBulk(out, null);
+                }
+            }
+            case "DEL" -> {
+                int removed = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    if (lookup(key(command, i)) != null && data.remove(key(command, i)) != null) {
+                        removed++;
+                    }
+                }
+                writeLine(out, ":" + removed);
+            }
+            case "PING" -> writeLine(out, "+PONG");
+            default -> writeLine(out, "+OK");
+        }
+    }
+
+    private byte[] lookup(String key) {
+        Value value = data.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value.expiresAt() <= System.currentTimeMillis()) {
+            data.remove(key, value);
+            return null;
+        }
+        return value.bytes();
+    }
+
+    private static String key(List<byte[]> command, int index) {
+        return new String(command.get(index), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads one command sent as a RESP array of bulk strings.
+     *
+     * @return the command and its arguments, or null at end of stream
+     */
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<byte[]> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            byte[] bytes = in.readNBytes(length);
+            in.readNBytes(2);
+            parts.add(bytes);
+        }
+        return parts;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                in.read();
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        return null;
+    }
+
+    private static void writeLine(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBulk(OutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            writeLine(out, "$-1");
+            return;
+        }
+        writeLine(out, "$" + bytes.length);
+        out.write(bytes);
+        writeLine(out, "");
+    }
+}
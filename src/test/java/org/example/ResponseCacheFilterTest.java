@@ -0,0 +1,233 @@
+package org.example;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheFilterTest {
+
+    private ResponseCacheFilter filter;
+    private final AtomicInteger controllerCalls = new AtomicInteger();
+
+    private final HttpServlet controller = new HttpServlet() {
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            controllerCalls.incrementAndGet();
+            resp.setContentType("application/json");
+            resp.getWriter().write("[{\"id\":\"r2\",\"name\":\"Falcon 9\",\"sort\":\"" + req.getParameter("sort") + "\"}]");
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCacheFilter();
+    }
+
+    @Test
+    void secondRequest_isServedFromCacheWithSameETag() throws Exception {
+        MockHttpServletResponse first = get("/api/rockets/all", null);
+        MockHttpServletResponse second = get("/api/rockets/all", null);
+
+        assertEquals(1, controllerCalls.get());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertNotNull(first.getHeader("ETag"));
+        assertEquals(first.getHeader("ETag"), second.getHeader("ETag"));
+    }
+
+    @Test
+    void matchingIfNoneMatch_returnsNotModified() throws Exception {
+        String etag = get("/api/rockets/all", null).getHeader("ETag");
+
+        MockHttpServletRequest request = request("/api/rockets/all", null);
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(controller));
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void gzipEtag_revalidatesToNotModified() throws Exception {
+        byte[] large = ("[" + "{\"id\":\"r2\",\"name\":\"Falcon 9\"},".repeat(50) + "{}]").getBytes(StandardCharsets.UTF_8);
+        HttpServlet largeController = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(large);
+            }
+        };
+        MockHttpServletRequest first = request("/api/launches/id/r2", null);
+        first.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse gzipped = new MockHttpServletResponse();
+        filter.doFilter(first, gzipped, new MockFilterChain(largeController));
+        String gzipEtag = gzipped.getHeader("ETag");
+        assertTrue(gzipEtag.endsWith("-gzip\""));
+
+        MockHttpServletRequest revalidate = request("/api/launches/id/r2", null);
+        revalidate.addHeader("Accept-Encoding", "gzip");
+        revalidate.addHeader("If-None-Match", gzipEtag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(revalidate, response, new MockFilterChain(largeController));
+
+        assertEquals(304, response.getStatus());
+        assertEquals(gzipEtag, response.getHeader("ETag"));
+    }
+
+    @Test
+    void sortParameter_isPartOfTheKey() throws Exception {
+        get("/api/rockets/all", "name");
+        MockHttpServletResponse byId = get("/api/rockets/all", "id");
+
+        assertEquals(2, controllerCalls.get());
+        assertTrue(byId.getContentAsString().contains("\"sort\":\"id\""));
+    }
+
+    @Test
+    void gzipClients_receivePrecompressedBody() throws Exception {
+        String plain = get("/api/rockets/all", null).getContentAsString();
+
+        MockHttpServletRequest request = request("/api/rockets/all", null);
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(controller));
+
+        // The sample body is too small to shrink, so the filter keeps it uncompressed
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(plain, response.getContentAsString());
+
+        byte[] large = ("[" + "{\"id\":\"r2\",\"name\":\"Falcon 9\"},".repeat(50) + "{}]").getBytes(StandardCharsets.UTF_8);
+        HttpServlet largeController = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(large);
+            }
+        };
+        MockHttpServletRequest gzipRequest = request("/api/launches/id/r2", null);
+        gzipRequest.addHeader("Accept-Encoding", "gzip");
+        filter.doFilter(request("/api/launches/id/r2", null), new MockHttpServletResponse(), new MockFilterChain(largeController));
+        MockHttpServletResponse gzipped = new MockHttpServletResponse();
+        filter.doFilter(gzipRequest, gzipped, new MockFilterChain(largeController));
+
+        assertEquals("gzip", gzipped.getHeader("Content-Encoding"));
+        String identityEtag = get("/api/launches/id/r2", null).getHeader("ETag");
+        assertEquals(identityEtag.replaceAll("\"$", "-gzip\""), gzipped.getHeader("ETag"),
+                "The gzip body is a distinct representation with its own strong tag");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertArrayEquals(large, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void snapshotChange_invalidatesAllEntries() throws Exception {
+        get("/api/rockets/all", null);
+        filter.onSnapshotChanged(new SnapshotChangedEvent(SnapshotChangedEvent.LAUNCHES));
+        get("/api/rockets/all", null);
+
+        assertEquals(2, controllerCalls.get());
+    }
+
+    @Test
+    void changeSet_keepsEntriesOfUnaffectedRockets() throws Exception {
+        get("/api/launches/id/r1", null);
+        get("/api/launches/id/r2", null);
+        get("/api/rockets/r1/stats", null);
+        get("/api/rockets/all", null);
+        filter.onSnapshotChanged(new SnapshotChangedEvent(SnapshotChangedEvent.LAUNCHES, java.util.Set.of("r2")));
+
+        get("/api/launches/id/r1", null);
+        get("/api/rockets/r1/stats", null);
+        assertEquals(4, controllerCalls.get());
+        get("/api/launches/id/r2", null);
+        get("/api/rockets/all", null);
+        assertEquals(6, controllerCalls.get());
+    }
+
+    @Test
+    void binaryFormats_areCachedPerAcceptHeader() throws Exception {
+        HttpServlet cborController = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                controllerCalls.incrementAndGet();
+                resp.setContentType("application/cbor");
+                resp.getOutputStream().write(new byte[]{(byte) 0x81, 0x01});
+            }
+        };
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = request("/api/rockets/all", null);
+            request.addHeader("Accept", "application/cbor");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain(cborController));
+            assertEquals("application/cbor", response.getContentType());
+            assertArrayEquals(new byte[]{(byte) 0x81, 0x01}, response.getContentAsByteArray());
+            assertEquals("Accept, Accept-Encoding", response.getHeader("Vary"));
+        }
+
+        assertEquals(1, controllerCalls.get());
+    }
+
+    @Test
+    void fullCache_evictsInsteadOfRefusingNewEntries() throws Exception {
+        filter = new ResponseCacheFilter(new SpaceXMetrics(new SimpleMeterRegistry()), 2);
+        for (int i = 0; i < 50; i++) {
+            get("/api/rockets/all", "junk" + i);
+        }
+        controllerCalls.set(0);
+
+        get("/api/rockets/all", "name");
+        get("/api/rockets/all", "name");
+
+        assertEquals(1, controllerCalls.get(), "A new key is still cached after a burst of distinct ones");
+    }
+
+    @Test
+    void otherPaths_areNotCached() throws Exception {
+        get("/api/diagnostics/http-client", null);
+        get("/api/diagnostics/http-client", null);
+
+        assertEquals(2, controllerCalls.get());
+    }
+
+    @Test
+    void streamingRequests_bypassTheCache() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = request("/api/launches/id/r2", null);
+            request.addHeader("Accept", "application/x-ndjson");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain(controller));
+            assertNull(response.getHeader("ETag"));
+        }
+
+        assertEquals(2, controllerCalls.get());
+    }
+
+    private MockHttpServletResponse get(String path, String sort) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path, sort), response, new MockFilterChain(controller));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String sort) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (sort != null) {
+            request.setParameter("sort", sort);
+            request.setQueryString("sort=" + sort);
+        }
+        return request;
+    }
+}
@@ -1,8 +1,15 @@
 package org.example;
 
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class RestTemplateConfigTest {
@@ -12,4 +19,51 @@ public class RestTemplateConfigTest {
         RestTemplate bean = new RestTemplateConfig().restTemplate();
         assertNotNull(bean);
     }
+
+    @Test
+    void restTemplateBean_usesPooledHttpClient() {
+        RestTemplate bean = new RestTemplateConfig().restTemplate();
+        assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, bean.getRequestFactory());
+    }
+
+    @Test
+    void keepAlive_reusesConnectionAndDecodesGzip() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v4/rockets", exchange -> {
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+                    out.write(body);
+                }
+            } else {
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        server.start();
+        try {
+            HttpClientStats stats = new HttpClientStats();
+            RestTemplate restTemplate = new RestTemplateConfig().restTemplate(stats);
+            String url = "http://localhost:" + server.getAddress().getPort() + "/v4/rockets";
+
+            for (int i = 0; i < 3; i++) {
+                assertEquals("[]", restTemplate.getForObject(url, String.class));
+            }
+
+            HttpClientStats.Snapshot snapshot = stats.snapshot();
+            assertEquals(3, snapshot.requests());
+            assertEquals(1, snapshot.connectionsCreated(), "Keep-alive should reuse the first connection");
+            assertEquals(2, snapshot.reusedRequests());
+            assertEquals(1, snapshot.available());
+            assertEquals(0, RestTemplateConfig.DeadlineRequestFactory.pendingDeadlines(),
+                    "Deadlines of completed requests should be cancelled and removed");
+        } finally {
+            server.stop(0);
+        }
+    }
 }
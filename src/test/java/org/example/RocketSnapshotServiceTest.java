@@ -0,0 +1,70 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class RocketSnapshotServiceTest {
+
+    private static final List<SpaceXJsonReader.RocketRow> ROCKETS =
+            List.of(new SpaceXJsonReader.RocketRow("r2", "Falcon 9", true, 98));
+
+    private SpaceXRocketsApi api;
+    private final List<Object> events = new ArrayList<>();
+    private RocketSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        api = Mockito.mock(SpaceXRocketsApi.class);
+        service = new RocketSnapshotService(api, events::add);
+    }
+
+    @Test
+    void getRockets_loadsOnceAndServesFromMemory() {
+        when(api.getRockets()).thenReturn(ROCKETS);
+
+        assertSame(ROCKETS, service.getRockets());
+        assertSame(ROCKETS, service.getRockets());
+        verify(api, times(1)).getRockets();
+    }
+
+    @Test
+    void refresh_publishesOnlyWhenDataChanged() {
+        List<SpaceXJsonReader.RocketRow> changed = List.of(new SpaceXJsonReader.RocketRow("r2", "Falcon 9", true, 99));
+        when(api.getRockets()).thenReturn(ROCKETS, ROCKETS, new ArrayList<>(ROCKETS), changed);
+
+        service.refresh();
+        service.refresh();
+        service.refresh();
+        assertSame(ROCKETS, service.getRockets(), "An equal copy keeps the current snapshot");
+        service.refresh();
+
+        assertEquals(List.of(new SnapshotChangedEvent(SnapshotChangedEvent.ROCKETS),
+                new SnapshotChangedEvent(SnapshotChangedEvent.ROCKETS)), events);
+    }
+
+    @Test
+    void getRockets_sortOrdersAreComputedOncePerSnapshot() {
+        List<SpaceXJsonReader.RocketRow> rockets = List.of(
+                new SpaceXJsonReader.RocketRow("r2", "Falcon 9", true, 98),
+                new SpaceXJsonReader.RocketRow("r1", "Falcon 1", false, 40),
+                new SpaceXJsonReader.RocketRow("r3", null, true, null));
+        when(api.getRockets()).thenReturn(rockets, new ArrayList<>(rockets.subList(0, 2)));
+
+        List<SpaceXJsonReader.RocketRow> bySuccess = service.getRockets("SUCCESS_RATE_PCT");
+
+        assertEquals(List.of("r2", "r1", "r3"), bySuccess.stream().map(SpaceXJsonReader.RocketRow::id).toList());
+        assertSame(bySuccess, service.getRockets("success_rate_pct"));
+        assertSame(rockets, service.getRockets("name"), "Null names cannot be sorted; upstream order is kept");
+        assertSame(rockets, service.getRockets("unknown"));
+
+        service.refresh();
+        assertEquals(List.of("r1", "r2"), service.getRockets("name").stream().map(SpaceXJsonReader.RocketRow::id).toList());
+    }
+}
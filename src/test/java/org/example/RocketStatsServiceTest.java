@@ -0,0 +1,58 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class RocketStatsServiceTest {
+
+    private static final List<SpaceXJsonReader.RocketRow> ROCKETS = List.of(
+            new SpaceXJsonReader.RocketRow("r1", "Falcon 1", false, 40),
+            new SpaceXJsonReader.RocketRow("r2", "Falcon 9", true, 98));
+
+    private SpaceXRocketsApi api;
+    private LaunchSnapshotService launchSnapshotService;
+    private RocketStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        api = Mockito.mock(SpaceXRocketsApi.class);
+        when(api.getRockets()).thenReturn(ROCKETS);
+        when(api.getAllLaunches()).thenReturn(List.of(
+                new SpaceXJsonReader.LaunchRow("l1", "FalconSat", "r1", 1143239400)));
+        launchSnapshotService = new LaunchSnapshotService(api);
+        service = new RocketStatsService(new RocketSnapshotService(api), launchSnapshotService);
+    }
+
+    @Test
+    void getStats_returnsEveryRocketInRocketOrder() {
+        List<LaunchStats.RocketStatsDTO> stats = service.getStats();
+
+        assertEquals(List.of("r1", "r2"), stats.stream().map(LaunchStats.RocketStatsDTO::rocketId).toList());
+        assertEquals(1, stats.get(0).launches());
+        assertEquals(0, stats.get(1).launches());
+    }
+
+    @Test
+    void getStats_returnsNullForUnknownRockets() {
+        assertNull(service.getStats("r9"));
+        assertEquals("Mar 24, 2006", service.getStats("r1").firstLaunch());
+    }
+
+    @Test
+    void onSnapshotChanged_recomputesFromTheNewLaunches() {
+        assertEquals(1, service.getStats("r1").launches());
+        when(api.getAllLaunches()).thenReturn(List.of(
+                new SpaceXJsonReader.LaunchRow("l1", "FalconSat", "r1", 1143239400),
+                new SpaceXJsonReader.LaunchRow("l2", "DemoSat", "r1", 1174439400)));
+        launchSnapshotService.refresh();
+        service.onSnapshotChanged(new SnapshotChangedEvent(SnapshotChangedEvent.LAUNCHES));
+
+        assertEquals(2, service.getStats("r1").launches());
+    }
+}
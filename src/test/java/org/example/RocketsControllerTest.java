@@ -17,7 +17,7 @@ public class RocketsControllerTest {
     @BeforeEach
     void setUp() {
         api = Mockito.mock(SpaceXRocketsApi.class);
-        controller = new RocketsController(api);
+        controller = new RocketsController(new RocketSnapshotService(api));
     }
 
     @Test
@@ -27,7 +27,7 @@ public class RocketsControllerTest {
                 "{\"id\":\"r2\",\"name\":\"Falcon 9\",\"active\":true,\"success_rate_pct\":97}," +
                 "{\"id\":\"r3\",\"name\":\"Starship\",\"active\":true,\"success_rate_pct\":10}" +
                 "]";
-        when(api.getRocketsData()).thenReturn(json);
+        when(api.getRockets()).thenReturn(SpaceXJsonReader.readRockets(json));
 
         List<?> result = controller.all(null);
         assertEquals(3, result.size(), "Should map all rockets to DTOs");
@@ -40,7 +40,7 @@ public class RocketsControllerTest {
                 "{\"id\":\"r2\",\"name\":\"Falcon 9\",\"active\":true,\"success_rate_pct\":97}," +
                 "{\"id\":\"r3\",\"name\":\"Starship\",\"active\":true,\"success_rate_pct\":10}" +
                 "]";
-        when(api.getRocketsData()).thenReturn(json);
+        when(api.getRockets()).thenReturn(SpaceXJsonReader.readRockets(json));
 
         List<?> result = controller.active();
         assertEquals(2, result.size(), "Should include only active rockets");
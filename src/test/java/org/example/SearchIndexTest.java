@@ -0,0 +1,66 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchIndexTest {
+
+    private static final SearchIndex INDEX = new SearchIndex(java.util.Arrays.asList(
+            "Starlink-15 (v1.0)",
+            "Starship SN8",
+            "CRS-20",
+            null,
+            "Starlink 4-2",
+            "Falcon Heavy Test Flight"));
+
+    private static List<Integer> docs(List<SearchIndex.Hit> hits) {
+        return hits.stream().map(SearchIndex.Hit::doc).toList();
+    }
+
+    @Test
+    void tokenize_splitsOnPunctuationAndLowerCases() {
+        assertEquals(List.of("starlink", "15", "v1", "0"), SearchIndex.tokenize("Starlink-15 (v1.0)"));
+        assertTrue(SearchIndex.tokenize(" -- ").isEmpty());
+    }
+
+    @Test
+    void search_matchesWholeTermsCaseInsensitively() {
+        assertEquals(List.of(4, 0), docs(INDEX.search("STARLINK", 10)));
+    }
+
+    @Test
+    void search_matchesPrefixes() {
+        assertEquals(List.of(1, 4, 0), docs(INDEX.search("star", 10)));
+        assertEquals(List.of(5), docs(INDEX.search("fal", 10)));
+    }
+
+    @Test
+    void search_ranksWholeTermMatchesAbovePrefixMatches() {
+        List<SearchIndex.Hit> hits = INDEX.search("starship", 10);
+        assertEquals(List.of(1), docs(hits));
+        assertEquals(2.0, hits.get(0).score());
+        assertEquals(1.0, INDEX.search("starsh", 10).get(0).score());
+    }
+
+    @Test
+    void search_requiresEveryToken() {
+        assertEquals(List.of(0), docs(INDEX.search("starlink 15", 10)));
+        assertEquals(List.of(5), docs(INDEX.search("heavy fl", 10)));
+        assertTrue(INDEX.search("starlink heavy", 10).isEmpty());
+    }
+
+    @Test
+    void search_returnsNothingForUnknownOrEmptyQueries() {
+        assertTrue(INDEX.search("dragon", 10).isEmpty());
+        assertTrue(INDEX.search("", 10).isEmpty());
+        assertTrue(SearchIndex.EMPTY.search("star", 10).isEmpty());
+    }
+
+    @Test
+    void search_honoursTheLimit() {
+        assertEquals(List.of(1, 4), docs(INDEX.search("s", 2)));
+    }
+}
@@ -0,0 +1,75 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class SearchServiceTest {
+
+    private static final List<SpaceXJsonReader.RocketRow> ROCKETS = List.of(
+            new SpaceXJsonReader.RocketRow("r1", "Falcon 1", false, 40),
+            new SpaceXJsonReader.RocketRow("r2", "Falcon 9", true, 98),
+            new SpaceXJsonReader.RocketRow("r3", "Starship", true, null));
+
+    private static final List<SpaceXJsonReader.LaunchRow> LAUNCHES = List.of(
+            new SpaceXJsonReader.LaunchRow("l1", "FalconSat", "r1", 1143239400),
+            new SpaceXJsonReader.LaunchRow("l2", "Starlink-1", "r2", 1573140000),
+            new SpaceXJsonReader.LaunchRow("l3", "Starship SN8", "r3", 1607536200));
+
+    private SpaceXRocketsApi api;
+    private RocketSnapshotService rocketSnapshotService;
+    private LaunchSnapshotService launchSnapshotService;
+    private SearchService service;
+
+    @BeforeEach
+    void setUp() {
+        api = Mockito.mock(SpaceXRocketsApi.class);
+        when(api.getRockets()).thenReturn(ROCKETS);
+        when(api.getAllLaunches()).thenReturn(LAUNCHES);
+        rocketSnapshotService = new RocketSnapshotService(api);
+        launchSnapshotService = new LaunchSnapshotService(api);
+        service = new SearchService(rocketSnapshotService, launchSnapshotService);
+    }
+
+    private static List<String> ids(List<SearchService.SearchResultDTO> results) {
+        return results.stream().map(SearchService.SearchResultDTO::id).toList();
+    }
+
+    @Test
+    void search_returnsRocketsAndLaunches() {
+        List<SearchService.SearchResultDTO> results = service.search("starship", 10);
+
+        assertEquals(List.of("r3", "l3"), ids(results));
+        assertEquals(new SearchService.SearchResultDTO(SearchService.LAUNCH, "l3", "Starship SN8", "r3",
+                "Dec 09, 2020", 2.0), results.get(1));
+        assertNull(results.get(0).rocket());
+    }
+
+    @Test
+    void search_ranksWholeWordsFirst() {
+        // "falcon" is a whole word of both rockets but only a prefix of "falconsat"
+        assertEquals(List.of("r1", "r2", "l1"), ids(service.search("falcon", 10)));
+        assertEquals(List.of("r2"), ids(service.search("falcon 9", 10)));
+    }
+
+    @Test
+    void search_appliesTheLimitAcrossBothIndexes() {
+        assertEquals(List.of("r3", "l2"), ids(service.search("star", 2)));
+    }
+
+    @Test
+    void onSnapshotChanged_reindexesOnlyTheChangedSnapshot() {
+        service.search("star", 10);
+        when(api.getAllLaunches()).thenReturn(List.of(
+                new SpaceXJsonReader.LaunchRow("l4", "Starlink-2", "r2", 1578960000)));
+        launchSnapshotService.refresh();
+        service.onSnapshotChanged(new SnapshotChangedEvent(SnapshotChangedEvent.LAUNCHES));
+
+        assertEquals(List.of("r3", "l4"), ids(service.search("star", 10)));
+    }
+}
@@ -0,0 +1,175 @@
+package org.example;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.example.SpaceXJsonReader.LaunchRow;
+import org.example.SpaceXJsonReader.RocketRow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotCacheTest {
+
+    private static final TypeReference<List<RocketRow>> TYPE = new TypeReference<>() {
+    };
+    private static final List<RocketRow> ROCKETS = List.of(
+            new RocketRow("r1", "Falcon 1", false, 40),
+            new RocketRow("r2", "Falcon 9", true, null));
+    private static final long FRESH = 60000;
+    private static final long STALE = 0;
+
+    private RespStubServer redis;
+    private final SimpleMeterRegistry registryA = new SimpleMeterRegistry();
+    private final SimpleMeterRegistry registryB = new SimpleMeterRegistry();
+    private SnapshotCache replicaA;
+    private SnapshotCache replicaB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        redis = new RespStubServer();
+        replicaA = replica(registryA);
+        replicaB = replica(registryB);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        replicaA.close();
+        replicaB.close();
+        redis.close();
+    }
+
+    @Test
+    void load_withoutSharedTier_alwaysGoesUpstream() {
+        SnapshotCache local = new SnapshotCache();
+        Upstream upstream = new Upstream();
+
+        local.load("rockets", FRESH, TYPE, upstream);
+        local.load("rockets", FRESH, TYPE, upstream);
+
+        assertEquals(2, upstream.calls.get());
+    }
+
+    @Test
+    void load_onlyOneReplicaRefreshesFromUpstream() {
+        Upstream upstreamA = new Upstream();
+        Upstream upstreamB = new Upstream();
+
+        List<RocketRow> fromA = replicaA.load("rockets", FRESH, TYPE, upstreamA);
+        List<RocketRow> fromB = replicaB.load("rockets", FRESH, TYPE, upstreamB);
+
+        assertEquals(1, upstreamA.calls.get());
+        assertEquals(0, upstreamB.calls.get());
+        assertEquals(ROCKETS, fromA);
+        assertEquals(ROCKETS, fromB);
+        assertEquals(1.0, registryA.counter("spacex.snapshot.loads", "snapshot", "rockets", "source", "upstream").count());
+        assertEquals(1.0, registryB.counter("spacex.snapshot.loads", "snapshot", "rockets", "source", "l2").count());
+    }
+
+    @Test
+    void load_launchesRoundTripThroughTheSharedTier() {
+        List<LaunchRow> launches = List.of(
+                new LaunchRow("l1", "CRS-1", "r2", 1349656500, "lp1", List.of("p1", "p2")),
+                new LaunchRow("l2", "Demo", null, null));
+        TypeReference<List<LaunchRow>> type = new TypeReference<>() {
+        };
+        replicaA.load("launches", FRESH, type, () -> launches);
+
+        assertEquals(launches, replicaB.load("launches", FRESH, type, () -> fail("Served from L2")));
+    }
+
+    @Test
+    void load_sameSharedVersionIsServedFromL1AsTheSameInstance() {
+        replicaA.load("rockets", FRESH, TYPE, new Upstream());
+
+        List<RocketRow> first = replicaB.load("rockets", FRESH, TYPE, new Upstream());
+        List<RocketRow> second = replicaB.load("rockets", FRESH, TYPE, new Upstream());
+
+        assertSame(first, second);
+        assertEquals(1.0, registryB.counter("spacex.snapshot.loads", "snapshot", "rockets", "source", "l1").count());
+        assertEquals(1.0, registryB.get("cache.gets").tag("cache", "spacex.snapshot.l1").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void load_staleSnapshotIsRefreshedByTheLockHolderOnly() {
+        Upstream upstreamA = new Upstream();
+        replicaA.load("rockets", FRESH, TYPE, upstreamA);
+        redis.set("spacex:snapshot:rockets:lock", "another-replica");
+
+        Upstream upstreamB = new Upstream();
+        List<RocketRow> fromB = replicaB.load("rockets", STALE, TYPE, upstreamB);
+
+        // Another replica holds the refresh lock: keep serving the last shared snapshot
+        assertEquals(0, upstreamB.calls.get());
+        assertEquals(ROCKETS, fromB);
+    }
+
+    @Test
+    void load_refreshWithUnchangedContentKeepsVersionAndInstance() {
+        Upstream upstream = new Upstream();
+        List<RocketRow> first = replicaA.load("rockets", STALE, TYPE, upstream);
+        String meta = redis.get("spacex:snapshot:rockets:meta");
+
+        List<RocketRow> second = replicaA.load("rockets", STALE, TYPE, upstream);
+
+        assertEquals(2, upstream.calls.get());
+        assertSame(first, second);
+        assertEquals(meta.substring(0, meta.indexOf(':')),
+                redis.get("spacex:snapshot:rockets:meta").substring(0, meta.indexOf(':')));
+        assertNull(redis.get("spacex:snapshot:rockets:lock"));
+    }
+
+    @Test
+    void load_coldClusterWithLockHeldElsewhereFallsBackToUpstream() {
+        redis.set("spacex:snapshot:rockets:lock", "another-replica");
+        Upstream upstream = new Upstream();
+
+        assertEquals(ROCKETS, replicaA.load("rockets", FRESH, TYPE, upstream));
+        assertEquals(1, upstream.calls.get());
+    }
+
+    @Test
+    void load_sharedTierDownFallsBackToUpstream() throws Exception {
+        redis.close();
+        Upstream upstream = new Upstream();
+
+        assertEquals(ROCKETS, replicaA.load("rockets", FRESH, TYPE, upstream));
+        assertEquals(1, upstream.calls.get());
+    }
+
+    @Test
+    void load_upstreamFailureReleasesTheLock() {
+        assertThrows(ResourceAccessException.class, () -> replicaA.load("rockets", FRESH, TYPE, () -> {
+            throw new ResourceAccessException("down");
+        }));
+
+        assertNull(redis.get("spacex:snapshot:rockets:lock"));
+    }
+
+    private SnapshotCache replica(SimpleMeterRegistry registry) {
+        return new SnapshotCache(new RedisSnapshotStore(redis.uri(), 2000), 16, 60000, 30000,
+                new SpaceXMetrics(registry));
+    }
+
+    /**
+     * Upstream stand-in returning a fresh but equal list on every call, like a full re-download.
+     */
+    private static final class Upstream implements Supplier<List<RocketRow>> {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public List<RocketRow> get() {
+            calls.incrementAndGet();
+            return new ArrayList<>(ROCKETS);
+        }
+    }
+}
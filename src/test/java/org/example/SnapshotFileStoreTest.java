@@ -0,0 +1,149 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SnapshotFileStoreTest {
+
+    private static final List<SpaceXJsonReader.RocketRow> ROCKETS = List.of(
+            new SpaceXJsonReader.RocketRow("r2", "Falcon 9", true, 98),
+            new SpaceXJsonReader.RocketRow("r3", "Starship", null, null));
+
+    private static final List<SpaceXJsonReader.LaunchRow> LAUNCHES = List.of(
+            new SpaceXJsonReader.LaunchRow("l1", "CRS-1", "r2", 1349656500, "lp1", List.of("p1", "p2")),
+            new SpaceXJsonReader.LaunchRow("l2", "Démo ✓", null, null));
+
+    private static final ReferenceSnapshotService.Names NAMES = new ReferenceSnapshotService.Names(
+            Map.of("lp1", "CCSFS SLC 40"), Map.of("p1", "Dragon", "p2", "Orbcomm-OG2"));
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("nested").resolve("snapshot.bin");
+    }
+
+    @Test
+    void writeAndRead_roundTripsBothSnapshots() throws Exception {
+        SnapshotFileStore.write(file, new SnapshotFileStore.Contents(ROCKETS, LaunchStore.of(LAUNCHES)));
+
+        SnapshotFileStore.Contents contents = SnapshotFileStore.read(file);
+
+        assertEquals(ROCKETS, contents.rockets());
+        assertEquals(2, contents.launches().size());
+        assertEquals("Démo ✓", contents.launches().name(1));
+        assertNull(contents.launches().rocketId(1));
+        assertEquals(LaunchStore.NO_DATE, contents.launches().dateUnix(1));
+        assertEquals(LaunchStore.of(LAUNCHES).launchesOf("r2"), contents.launches().launchesOf("r2"));
+        assertEquals("lp1", contents.launches().launchpadId(0));
+        assertArrayEquals(new String[]{"p1", "p2"}, contents.launches().payloadIds(0));
+        assertNull(contents.launches().launchpadId(1));
+        assertNull(contents.names());
+    }
+
+    @Test
+    void writeAndRead_roundTripsNames() throws Exception {
+        SnapshotFileStore.write(file, new SnapshotFileStore.Contents(null, null, NAMES));
+
+        assertEquals(NAMES, SnapshotFileStore.read(file).names());
+    }
+
+    @Test
+    void read_acceptsVersionOneFiles() throws Exception {
+        Files.createDirectories(file.getParent());
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(0x5358534E);
+            out.writeInt(1);
+            out.writeInt(-1);
+            out.writeInt(1);
+            for (String text : new String[]{"l1", "CRS-1", "r2"}) {
+                out.writeInt(text.length());
+                out.writeBytes(text);
+            }
+            out.writeLong(1349656500);
+        }
+
+        SnapshotFileStore.Contents contents = SnapshotFileStore.read(file);
+
+        assertNull(contents.rockets());
+        assertEquals("CRS-1", contents.launches().name(0));
+        assertNull(contents.launches().launchpadId(0));
+        assertNull(contents.names());
+    }
+
+    @Test
+    void writeAndRead_keepsAbsentSections() throws Exception {
+        SnapshotFileStore.write(file, new SnapshotFileStore.Contents(null, LaunchStore.of(LAUNCHES)));
+
+        assertNull(SnapshotFileStore.read(file).rockets());
+    }
+
+    @Test
+    void snapshotChange_persistsAndWarmStartServesWithoutUpstream() throws Exception {
+        SpaceXRocketsApi api = Mockito.mock(SpaceXRocketsApi.class);
+        when(api.getRockets()).thenReturn(ROCKETS);
+        when(api.getAllLaunches()).thenReturn(LAUNCHES);
+        RocketSnapshotService rockets = new RocketSnapshotService(api);
+        LaunchSnapshotService launches = new LaunchSnapshotService(api);
+        rockets.refresh();
+        launches.refresh();
+        store(rockets, launches).onSnapshotChanged(new SnapshotChangedEvent(SnapshotChangedEvent.LAUNCHES));
+
+        SpaceXRocketsApi downApi = Mockito.mock(SpaceXRocketsApi.class);
+        RocketSnapshotService warmRockets = new RocketSnapshotService(downApi);
+        LaunchSnapshotService warmLaunches = new LaunchSnapshotService(downApi);
+        store(warmRockets, warmLaunches).load();
+
+        assertEquals(ROCKETS, warmRockets.getRockets());
+        assertEquals(1, warmLaunches.getLaunches("r2").size());
+        verifyNoInteractions(downApi);
+    }
+
+    @Test
+    void load_ignoresCorruptFile() throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+        SpaceXRocketsApi api = Mockito.mock(SpaceXRocketsApi.class);
+        RocketSnapshotService rockets = new RocketSnapshotService(api);
+
+        store(rockets, new LaunchSnapshotService(api)).load();
+
+        assertNull(rockets.snapshot());
+    }
+
+    @Test
+    void restore_doesNotOverrideLiveData() {
+        SpaceXRocketsApi api = Mockito.mock(SpaceXRocketsApi.class);
+        when(api.getRockets()).thenReturn(ROCKETS);
+        RocketSnapshotService rockets = new RocketSnapshotService(api);
+        rockets.refresh();
+
+        rockets.restore(new ArrayList<>());
+
+        assertEquals(ROCKETS, rockets.snapshot());
+    }
+
+    private SnapshotFileStore store(RocketSnapshotService rockets, LaunchSnapshotService launches) throws Exception {
+        SnapshotFileStore store = new SnapshotFileStore(rockets, launches,
+                new ReferenceSnapshotService(Mockito.mock(SpaceXRocketsApi.class)));
+        var field = SnapshotFileStore.class.getDeclaredField("file");
+        field.setAccessible(true);
+        field.set(store, file.toString());
+        return store;
+    }
+}
@@ -0,0 +1,104 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpaceXJsonReaderTest {
+
+    private static final String LAUNCHES = "[" +
+            "{\"links\":{\"patch\":{\"small\":null},\"id\":\"nested\"}," +
+            "\"cores\":[{\"core\":\"c1\",\"id\":\"nested\"}],\"crew\":[],\"payloads\":[\"p1\"]," +
+            "\"rocket\":\"r2\",\"date_unix\":1349656500,\"name\":\"CRS-1\",\"id\":\"l1\"}," +
+            "{\"id\":\"l2\",\"name\":\"Demo\",\"rocket\":\"r9\",\"date_unix\":null}," +
+            "{\"id\":\"l3\",\"name\":\"Starlink 1\",\"rocket\":\"r2\"}" +
+            "]";
+
+    @Test
+    void readLaunches_projectsFieldsAndSkipsNestedSubtrees() throws Exception {
+        List<SpaceXJsonReader.LaunchRow> launches = SpaceXJsonReader.readLaunches(stream(LAUNCHES));
+
+        assertEquals(3, launches.size());
+        assertEquals(new SpaceXJsonReader.LaunchRow("l1", "CRS-1", "r2", 1349656500, null, List.of("p1")),
+                launches.get(0));
+        assertNull(launches.get(1).dateUnix());
+        assertEquals(List.of(), launches.get(1).payloads());
+    }
+
+    @Test
+    void readLaunches_projectsLaunchpadAndPayloadIds() throws Exception {
+        String json = "[{\"id\":\"l1\",\"launchpad\":\"lp1\",\"payloads\":[\"p1\",null,{\"id\":\"x\"},\"p2\"]}," +
+                "{\"id\":\"l2\",\"launchpad\":null,\"payloads\":\"p3\"}]";
+
+        List<SpaceXJsonReader.LaunchRow> launches = SpaceXJsonReader.readLaunches(stream(json));
+
+        assertEquals("lp1", launches.get(0).launchpad());
+        assertEquals(List.of("p1", "p2"), launches.get(0).payloads());
+        assertNull(launches.get(1).launchpad());
+        assertEquals(List.of(), launches.get(1).payloads());
+    }
+
+    @Test
+    void readNames_keysNamesById() throws Exception {
+        String json = "[{\"full_name\":\"Kennedy Space Center Historic Launch Complex 39A\",\"name\":\"KSC LC 39A\"," +
+                "\"launches\":[\"l1\",\"l2\"],\"id\":\"lp1\"},{\"name\":\"no id\"},{\"id\":\"lp2\",\"name\":null}]";
+
+        Map<String, String> names = SpaceXJsonReader.readNames(stream(json));
+
+        assertEquals(2, names.size());
+        assertEquals("KSC LC 39A", names.get("lp1"));
+        assertTrue(names.containsKey("lp2"));
+        assertNull(names.get("lp2"));
+    }
+
+    @Test
+    void readLaunches_filtersByRocketWhileStreaming() throws Exception {
+        List<String> ids = new ArrayList<>();
+        SpaceXJsonReader.readLaunches(stream(LAUNCHES), "r2", launch -> ids.add(launch.id()));
+
+        assertEquals(List.of("l1", "l3"), ids);
+    }
+
+    @Test
+    void readRockets_projectsFields() throws Exception {
+        String json = "[{\"height\":{\"meters\":70},\"id\":\"r2\",\"name\":\"Falcon 9\"," +
+                "\"active\":true,\"success_rate_pct\":98,\"engines\":{\"number\":9}}]";
+
+        List<SpaceXJsonReader.RocketRow> rockets = SpaceXJsonReader.readRockets(json);
+
+        assertEquals(List.of(new SpaceXJsonReader.RocketRow("r2", "Falcon 9", true, 98)), rockets);
+    }
+
+    @Test
+    void readRockets_rejectsNonArrayPayload() {
+        assertThrows(JsonParseException.class, () -> SpaceXJsonReader.readRockets("{\"error\":\"down\"}"));
+    }
+
+    @Test
+    void readers_skipNonObjectElementsInsteadOfStopping() throws Exception {
+        String rockets = "[{\"id\":\"r1\",\"name\":\"Falcon 1\"},null,7,[{\"id\":\"x\"}],{\"id\":\"r2\",\"name\":\"Falcon 9\"}]";
+        String launches = "[{\"id\":\"l1\",\"rocket\":\"r1\"},null,\"l?\",{\"id\":\"l2\",\"rocket\":\"r2\"}]";
+        String names = "[{\"id\":\"p1\",\"name\":\"Pad 1\"},null,{\"id\":\"p2\",\"name\":\"Pad 2\"}]";
+
+        assertEquals(List.of("r1", "r2"), SpaceXJsonReader.readRockets(rockets).stream().map(SpaceXJsonReader.RocketRow::id).toList());
+        assertEquals(List.of("l1", "l2"), SpaceXJsonReader.readLaunches(stream(launches)).stream().map(SpaceXJsonReader.LaunchRow::id).toList());
+        assertEquals(Map.of("p1", "Pad 1", "p2", "Pad 2"), SpaceXJsonReader.readNames(stream(names)));
+    }
+
+    @Test
+    void readRockets_rejectsTruncatedArray() {
+        assertThrows(JsonParseException.class, () -> SpaceXJsonReader.readRockets("[{\"id\":\"r1\"},null"));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,123 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpServer;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpaceXMetricsTest {
+
+    private static final byte[] ROCKETS = "[{\"id\":\"r2\",\"name\":\"Falcon 9\",\"active\":true}]"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SpaceXMetrics metrics = new SpaceXMetrics(registry);
+    private HttpServer server;
+    private SpaceXRocketsApi api;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v4/rockets", exchange -> {
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                exchange.sendResponseHeaders(200, ROCKETS.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(ROCKETS);
+                }
+            }
+            exchange.close();
+        });
+        server.createContext("/v4/launches", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.start();
+
+        api = new SpaceXRocketsApi(new RestTemplate(), metrics);
+        var field = SpaceXRocketsApi.class.getDeclaredField("spaceXApiUrl");
+        field.setAccessible(true);
+        field.set(api, "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void upstreamCalls_areTimedPerOutcomeWithBodySize() {
+        api.getRockets();
+        api.getRockets();
+
+        assertEquals(1, registry.get("spacex.upstream.requests")
+                .tags("endpoint", "v4/rockets", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("spacex.upstream.requests")
+                .tags("endpoint", "v4/rockets", "outcome", "not_modified").timer().count());
+        assertEquals(1, registry.get("spacex.upstream.parse").tag("endpoint", "v4/rockets").timer().count());
+        assertEquals(ROCKETS.length, registry.get("spacex.upstream.response.size")
+                .tag("endpoint", "v4/rockets").summary().totalAmount());
+        assertEquals(0, registry.get("spacex.upstream.in.flight").gauge().value());
+    }
+
+    @Test
+    void failedUpstreamCalls_areTimedAsErrors() {
+        assertThrows(RestClientException.class, api::getAllLaunches);
+
+        assertEquals(1, registry.get("spacex.upstream.requests")
+                .tags("endpoint", "v4/launches", "outcome", "error").timer().count());
+        assertEquals(0, registry.get("spacex.upstream.in.flight").gauge().value());
+    }
+
+    @Test
+    void responseCache_countsHitsAndMisses() throws Exception {
+        ResponseCacheFilter filter = new ResponseCacheFilter(metrics);
+        for (int i = 0; i < 3; i++) {
+            MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+                @Override
+                protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                    resp.setContentType("application/json");
+                    resp.getWriter().write("[]");
+                }
+            });
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/rockets/all"), new MockHttpServletResponse(), chain);
+        }
+
+        assertEquals(2, registry.get("spacex.response.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1, registry.get("spacex.response.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void launchLookups_recordReturnedRowsAgainstSnapshotSize() throws Exception {
+        LaunchSnapshotService snapshot = new LaunchSnapshotService(null, event -> {
+        }, new SnapshotCache(), metrics);
+        snapshot.restore(LaunchStore.of(List.of(
+                new SpaceXJsonReader.LaunchRow("l1", "CRS-1", "r2", null),
+                new SpaceXJsonReader.LaunchRow("l2", "Demo", "r9", null))));
+        LaunchesController controller = new LaunchesController(snapshot, metrics);
+
+        controller.id("r2");
+
+        assertEquals(1, registry.get("spacex.launches.returned").summary().totalAmount());
+        assertEquals(2, registry.get("spacex.launches.snapshot.rows").gauge().value());
+    }
+}
@@ -0,0 +1,123 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises conditional revalidation against a local stub of the SpaceX API.
+ */
+public class SpaceXRocketsApiConditionalRequestTest {
+
+    private static final String ROCKETS = "[{\"id\":\"r2\",\"name\":\"Falcon 9\",\"active\":true,\"success_rate_pct\":98}]";
+    private static final String ETAG = "\"rockets-v1\"";
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+    private HttpServer server;
+    private SpaceXRocketsApi api;
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private final List<String> ifModifiedSince = new CopyOnWriteArrayList<>();
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v4/rockets", this::rockets);
+        server.createContext("/v4/launches", this::launchesWithLastModified);
+        server.start();
+
+        api = new SpaceXRocketsApi(new RestTemplate());
+        var field = SpaceXRocketsApi.class.getDeclaredField("spaceXApiUrl");
+        field.setAccessible(true);
+        field.set(api, "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void notModified_reusesParsedBodyWithoutParsing() {
+        AtomicInteger parses = new AtomicInteger();
+        SpaceXRocketsApi.ResponseParser<List<SpaceXJsonReader.RocketRow>> parser = body -> {
+            parses.incrementAndGet();
+            return SpaceXJsonReader.readRockets(body);
+        };
+
+        List<SpaceXJsonReader.RocketRow> first = api.getSpaceXData("v4/rockets", parser);
+        List<SpaceXJsonReader.RocketRow> second = api.getSpaceXData("v4/rockets", parser);
+
+        assertSame(first, second, "304 should hand back the previously parsed body");
+        assertEquals(1, parses.get(), "304 must not invoke the parser");
+        assertEquals(1, notModified.get());
+        assertEquals(List.of(ETAG), ifNoneMatch, "Only the revalidation request should carry If-None-Match");
+    }
+
+    @Test
+    void lastModified_isSentAsIfModifiedSince() {
+        List<SpaceXJsonReader.LaunchRow> first = api.getAllLaunches();
+        List<SpaceXJsonReader.LaunchRow> second = api.getAllLaunches();
+
+        assertSame(first, second);
+        assertEquals(List.of(LAST_MODIFIED), ifModifiedSince);
+    }
+
+    @Test
+    void differentParser_fetchesUnconditionally() {
+        api.getRockets();
+        List<SpaceXJsonReader.RocketRow> other = api.getSpaceXData("v4/rockets", SpaceXJsonReader::readRockets);
+
+        assertEquals(1, other.size());
+        assertEquals(0, notModified.get(), "Validators belong to the parser that produced the cached body");
+    }
+
+    private void rockets(HttpExchange exchange) throws IOException {
+        String header = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (header != null) {
+            ifNoneMatch.add(header);
+        }
+        if (ETAG.equals(header)) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("ETag", ETAG);
+        send(exchange, ROCKETS);
+    }
+
+    private void launchesWithLastModified(HttpExchange exchange) throws IOException {
+        String header = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+        if (header != null) {
+            ifModifiedSince.add(header);
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+        send(exchange, "[{\"id\":\"l1\",\"name\":\"CRS-1\",\"rocket\":\"r2\",\"date_unix\":1349656500}]");
+    }
+
+    private static void send(HttpExchange exchange, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
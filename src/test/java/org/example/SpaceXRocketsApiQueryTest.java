@@ -0,0 +1,185 @@
+package org.example;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the v4 query client against a local stand-in that implements the query subset it uses:
+ * equality filter, select projection, page and limit.
+ */
+public class SpaceXRocketsApiQueryTest {
+
+    private static final List<Map<String, Object>> LAUNCHES = List.of(
+            launch("l1", "FalconSat", "r1", 1143239400),
+            launch("l2", "CRS-1", "r2", 1349656500),
+            launch("l3", "Demo", "r3", 1361360400),
+            launch("l4", "Starlink 1", "r2", 1573465620),
+            launch("l5", "Crew-1", "r2", 1605486180));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Map<String, Object>> requests = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    /**
+     * When set, the stand-in holds every response until it is counted down.
+     */
+    private volatile CountDownLatch release;
+    /**
+     * When set, the stand-in reports a further page on every page, like a misbehaving upstream.
+     */
+    private volatile boolean endlessPages;
+    private HttpServer server;
+    private SpaceXRocketsApi api;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v4/launches/query", this::query);
+        server.start();
+
+        api = new SpaceXRocketsApi(new RestTemplate(), new SpaceXMetrics(registry));
+        var url = SpaceXRocketsApi.class.getDeclaredField("spaceXApiUrl");
+        url.setAccessible(true);
+        url.set(api, "http://localhost:" + server.getAddress().getPort());
+        var pageSize = SpaceXRocketsApi.class.getDeclaredField("queryPageSize");
+        pageSize.setAccessible(true);
+        pageSize.set(api, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void queryLaunchesByRocket_pagesThroughFilteredResults() {
+        List<SpaceXJsonReader.LaunchRow> launches = api.queryLaunchesByRocket("r2");
+
+        assertEquals(List.of(
+                new SpaceXJsonReader.LaunchRow("l2", "CRS-1", "r2", 1349656500),
+                new SpaceXJsonReader.LaunchRow("l4", "Starlink 1", "r2", 1573465620),
+                new SpaceXJsonReader.LaunchRow("l5", "Crew-1", "r2", 1605486180)), launches);
+        assertEquals(2, requests.size(), "Three matches at two per page should take two requests");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void queryLaunchesByRocket_sendsFilterAndProjection() {
+        api.queryLaunchesByRocket("r3");
+
+        Map<String, Object> request = requests.get(0);
+        assertEquals(Map.of("rocket", "r3"), request.get("query"));
+        Map<String, Object> options = (Map<String, Object>) request.get("options");
+        assertEquals(Map.of("name", 1, "rocket", 1, "date_unix", 1), options.get("select"));
+        assertEquals(1, options.get("page"));
+    }
+
+    @Test
+    void queryLaunchesByRocket_returnsEmptyForUnknownRocket() {
+        assertTrue(api.queryLaunchesByRocket("unknown").isEmpty());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void queryLaunchesByRocket_concurrentCallersShareOneQuery() throws Exception {
+        release = new CountDownLatch(1);
+        CompletableFuture<List<SpaceXJsonReader.LaunchRow>> first =
+                CompletableFuture.supplyAsync(() -> api.queryLaunchesByRocket("r2"));
+        CompletableFuture<List<SpaceXJsonReader.LaunchRow>> second =
+                CompletableFuture.supplyAsync(() -> api.queryLaunchesByRocket("r2"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.find("spacex.upstream.coalesced").counter() == null && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(3, first.get().size());
+        assertEquals(2, requests.size(), "The second caller must join the running query instead of paging again");
+    }
+
+    @Test
+    void queryLaunchesByRocket_stopsAtTheReportedTotalEvenIfMorePagesAreClaimed() {
+        endlessPages = true;
+
+        assertEquals(3, api.queryLaunchesByRocket("r2").size());
+        assertEquals(2, requests.size(), "Three matches at two per page need two pages");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void query(HttpExchange exchange) throws IOException {
+        CountDownLatch gate = release;
+        if (gate != null) {
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Map<String, Object> request = objectMapper.readValue(exchange.getRequestBody(), new TypeReference<>() {
+        });
+        requests.add(request);
+        Map<String, Object> filter = (Map<String, Object>) request.get("query");
+        Map<String, Object> options = (Map<String, Object>) request.get("options");
+        Map<String, Object> select = (Map<String, Object>) options.get("select");
+        int page = (Integer) options.get("page");
+        int limit = (Integer) options.get("limit");
+
+        List<Map<String, Object>> matches = new ArrayList<>();
+        for (Map<String, Object> launch : LAUNCHES) {
+            if (filter.entrySet().stream().allMatch(e -> e.getValue().equals(launch.get(e.getKey())))) {
+                matches.add(launch);
+            }
+        }
+        List<Map<String, Object>> docs = new ArrayList<>();
+        for (Map<String, Object> launch : matches.subList(Math.min((page - 1) * limit, matches.size()),
+                Math.min(page * limit, matches.size()))) {
+            Map<String, Object> projected = new LinkedHashMap<>();
+            projected.put("id", launch.get("id"));
+            select.keySet().forEach(field -> projected.put(field, launch.get(field)));
+            docs.add(projected);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("docs", docs);
+        body.put("totalDocs", matches.size());
+        body.put("page", page);
+        body.put("hasNextPage", endlessPages || page * limit < matches.size());
+
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, Object> launch(String id, String name, String rocket, int dateUnix) {
+        Map<String, Object> launch = new LinkedHashMap<>();
+        launch.put("id", id);
+        launch.put("name", name);
+        launch.put("rocket", rocket);
+        launch.put("date_unix", dateUnix);
+        launch.put("links", Map.of("webcast", "https://example.invalid/" + id));
+        return launch;
+    }
+}
@@ -0,0 +1,148 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that concurrent callers share one upstream fetch against a local stub of the SpaceX API.
+ */
+public class SpaceXRocketsApiSingleFlightTest {
+
+    private static final int CALLERS = 100;
+    private static final String ROCKETS = "[{\"id\":\"r2\",\"name\":\"Falcon 9\",\"active\":true,\"success_rate_pct\":98}]";
+
+    private HttpServer server;
+    private SpaceXRocketsApi api;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final AtomicBoolean failing = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v4/rockets", exchange -> {
+            upstreamCalls.incrementAndGet();
+            try {
+                // Keep the fetch in flight long enough for every caller to pile up behind it
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = (failing.get() ? "{}" : ROCKETS).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(failing.get() ? 503 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        api = new SpaceXRocketsApi(new RestTemplate());
+        var field = SpaceXRocketsApi.class.getDeclaredField("spaceXApiUrl");
+        field.setAccessible(true);
+        field.set(api, "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void concurrentCallers_shareOneUpstreamCall() throws Exception {
+        List<Future<List<SpaceXJsonReader.RocketRow>>> results = callConcurrently();
+
+        List<SpaceXJsonReader.RocketRow> first = results.get(0).get();
+        for (Future<List<SpaceXJsonReader.RocketRow>> result : results) {
+            assertSame(first, result.get(), "Every caller should receive the shared parsed result");
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void concurrentCallers_shareOneFailure() throws Exception {
+        failing.set(true);
+
+        List<Future<List<SpaceXJsonReader.RocketRow>>> results = callConcurrently();
+
+        for (Future<List<SpaceXJsonReader.RocketRow>> result : results) {
+            var e = assertThrows(ExecutionException.class, result::get);
+            assertInstanceOf(HttpServerErrorException.class, e.getCause());
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void joiningCaller_stopsWaitingAtItsDeadline() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<SpaceXJsonReader.RocketRow>> leader = pool.submit(api::getRockets);
+            while (upstreamCalls.get() == 0) {
+                Thread.sleep(5);
+            }
+
+            long start = System.nanoTime();
+            assertThrows(ResourceAccessException.class, () -> UpstreamDeadline.within(
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100), api::getRockets));
+
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 400,
+                    "The joiner should give up at its deadline rather than wait for the shared fetch");
+            assertEquals(1, leader.get().size(), "The shared fetch carries on for its other callers");
+            assertEquals(1, upstreamCalls.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void sequentialCalls_fetchAgain() {
+        api.getRockets();
+        api.getRockets();
+
+        assertEquals(2, upstreamCalls.get(), "Coalescing only applies to fetches that overlap in time");
+    }
+
+    private List<Future<List<SpaceXJsonReader.RocketRow>>> callConcurrently() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<SpaceXJsonReader.RocketRow>>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return api.getRockets();
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (Exception ignored) {
+                    // Outcomes are asserted by the caller
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -2,9 +2,18 @@ package org.example;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -14,47 +23,43 @@ public class SpaceXRocketsApiTest {
     private SpaceXRocketsApi api;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
         restTemplate = mock(RestTemplate.class);
         api = new SpaceXRocketsApi(restTemplate);
+        setBaseUrl();
     }
 
     @Test
-    void getApiResponse_withClass_returnsValue() {
-        when(restTemplate.getForObject(eq("http://x"), eq(String.class))).thenReturn("ok");
+    void getRockets_parsesProjectedRows() {
+        respond("https://base/v4/rockets",
+                "[{\"id\":\"r2\",\"name\":\"Falcon 9\",\"active\":true,\"success_rate_pct\":98,\"height\":{}}]");
 
-        String res = api.getApiResponse("http://x", String.class);
-        assertEquals("ok", res);
+        assertEquals(List.of(new SpaceXJsonReader.RocketRow("r2", "Falcon 9", true, 98)), api.getRockets());
     }
 
     @Test
-    void getApiResponse_withClass_returnsNullOnException() {
-        when(restTemplate.getForObject(eq("http://x"), eq(String.class)))
+    void getRockets_throwsOnUpstreamFailure() {
+        when(restTemplate.execute(eq("https://base/v4/rockets"), eq(HttpMethod.GET), any(RequestCallback.class),
+                any(ResponseExtractor.class)))
                 .thenThrow(new org.springframework.web.client.RestClientException("boom"));
 
-        String res = api.getApiResponse("http://x", String.class);
-        assertNull(res, "Should return null when RestTemplate throws RestClientException");
+        assertThrows(org.springframework.web.client.RestClientException.class, api::getRockets,
+                "Failures should surface instead of turning into null or error text");
     }
 
     @Test
-    void getSpaceXData_buildsUrlFromBase() throws Exception {
-        setBaseUrl();
-        when(restTemplate.getForObject(eq("https://base/endpoint"), eq(String.class)))
-                .thenReturn("data");
+    void rocketsAndLaunchesEndpoints_areCorrect() {
+        respond("https://base/v4/rockets", "[]");
+        respond("https://base/v4/launches", "[{\"id\":\"l1\",\"name\":\"CRS-1\",\"rocket\":\"r2\"}]");
 
-        // call the protected method via same-package access
-        String result = invokeGetSpaceXData();
-        assertEquals("data", result);
+        assertTrue(api.getRockets().isEmpty());
+        assertEquals(1, api.getAllLaunches().size());
     }
 
-    @Test
-    void rocketsAndLaunchesEndpoints_areCorrect() throws Exception {
-        setBaseUrl();
-        when(restTemplate.getForObject(eq("https://base/v4/rockets"), eq(String.class))).thenReturn("R");
-        when(restTemplate.getForObject(eq("https://base/v4/launches"), eq(String.class))).thenReturn("L");
-
-        assertEquals("R", api.getRocketsData());
-        assertEquals("L", api.getAllLaunchesData());
+    private void respond(String url, String body) {
+        when(restTemplate.execute(eq(url), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3).extractData(
+                        new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK)));
     }
 
     private void setBaseUrl() throws Exception {
@@ -62,10 +67,4 @@ public class SpaceXRocketsApiTest {
         field.setAccessible(true);
         field.set(api, "https://base");
     }
-
-    private String invokeGetSpaceXData() throws Exception {
-        var method = SpaceXRocketsApi.class.getDeclaredMethod("getSpaceXData", String.class);
-        method.setAccessible(true);
-        return (String) method.invoke(api, "endpoint");
-    }
 }
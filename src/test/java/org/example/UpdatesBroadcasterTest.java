@@ -0,0 +1,124 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class UpdatesBroadcasterTest {
+
+    private static final List<SpaceXJsonReader.RocketRow> ROCKETS = List.of(
+            new SpaceXJsonReader.RocketRow("r1", "Falcon 1", false, 40),
+            new SpaceXJsonReader.RocketRow("r2", "Falcon 9", true, 98));
+
+    private static final List<SpaceXJsonReader.LaunchRow> LAUNCHES = List.of(
+            new SpaceXJsonReader.LaunchRow("l1", "FalconSat", "r1", 1143239400),
+            new SpaceXJsonReader.LaunchRow("l2", "CRS-1", "r2", 1349656500));
+
+    private SpaceXRocketsApi api;
+    private RocketSnapshotService rocketSnapshotService;
+    private LaunchSnapshotService launchSnapshotService;
+    private UpdatesBroadcaster broadcaster;
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        api = Mockito.mock(SpaceXRocketsApi.class);
+        rocketSnapshotService = new RocketSnapshotService(api);
+        launchSnapshotService = new LaunchSnapshotService(api);
+        broadcaster = new UpdatesBroadcaster(rocketSnapshotService, launchSnapshotService);
+    }
+
+    private UpdatesBroadcaster.Subscriber subscribe() {
+        return broadcaster.subscribe((name, data) -> received.add(name == null ? ":" : name + " " + data));
+    }
+
+    private String next() throws InterruptedException {
+        String event = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "Expected an event");
+        return event;
+    }
+
+    @Test
+    void subscribe_opensWithAKeepAliveComment() throws Exception {
+        subscribe();
+
+        assertEquals(":", next());
+        assertEquals(1, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void rocketsChange_sendsOnlyChangedAndRemovedRockets() throws Exception {
+        subscribe();
+        next();
+        when(api.getRockets()).thenReturn(ROCKETS, List.of(
+                new SpaceXJsonReader.RocketRow("r2", "Falcon 9", true, 99)));
+
+        rocketSnapshotService.refresh();
+        broadcaster.onSnapshotChanged(new SnapshotChangedEvent(SnapshotChangedEvent.ROCKETS));
+        rocketSnapshotService.refresh();
+        broadcaster.onSnapshotChanged(new SnapshotChangedEvent(SnapshotChangedEvent.ROCKETS));
+
+        assertTrue(next().startsWith("rockets {\"upserted\":[{\"id\":\"r1\""));
+        assertEquals("rockets {\"upserted\":[{\"id\":\"r2\",\"name\":\"Falcon 9\",\"active\":true,\"successRatePct\":99}],"
+                + "\"removed\":[\"r1\"]}", next());
+    }
+
+    @Test
+    void launchesChange_sendsTheLaunchesOfTheChangedRockets() throws Exception {
+        subscribe();
+        next();
+        when(api.getAllLaunches()).thenReturn(LAUNCHES);
+        launchSnapshotService.refresh();
+
+        broadcaster.onSnapshotChanged(new SnapshotChangedEvent(SnapshotChangedEvent.LAUNCHES, Set.of("r2")));
+        broadcaster.onSnapshotChanged(new SnapshotChangedEvent(SnapshotChangedEvent.LAUNCHES));
+
+        assertEquals("launches {\"rockets\":{\"r2\":[{\"id\":\"l2\",\"name\":\"CRS-1\",\"rocket\":\"r2\","
+                + "\"date\":\"Oct 07, 2012\"}]},\"reload\":false}", next());
+        assertEquals("launches {\"rockets\":{},\"reload\":true}", next());
+    }
+
+    @Test
+    void failingClient_isUnregisteredWithoutAffectingOthers() throws Exception {
+        subscribe();
+        next();
+        CountDownLatch failed = new CountDownLatch(1);
+        broadcaster.subscribe((name, data) -> {
+            failed.countDown();
+            throw new IOException("Broken pipe");
+        });
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+
+        broadcaster.heartbeat();
+
+        assertEquals(":", next());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broadcaster.subscriberCount() != 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void close_stopsDelivery() throws Exception {
+        UpdatesBroadcaster.Subscriber subscriber = subscribe();
+        next();
+
+        subscriber.close();
+        broadcaster.heartbeat();
+
+        assertEquals(0, broadcaster.subscriberCount());
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+    }
+}
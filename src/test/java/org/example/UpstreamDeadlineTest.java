@@ -0,0 +1,64 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamDeadlineTest {
+
+    @Test
+    void withoutDeadline_waitsAreUnbounded() {
+        assertEquals(Long.MAX_VALUE, UpstreamDeadline.remainingNanos());
+        assertEquals(Long.MAX_VALUE, UpstreamDeadline.boundNanos(0));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), UpstreamDeadline.boundNanos(500));
+    }
+
+    @Test
+    void within_boundsTimeoutsAndKeepsTheEarlierOfNestedDeadlines() throws Exception {
+        long soon = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        long later = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+
+        long bound = UpstreamDeadline.within(soon, () -> UpstreamDeadline.boundNanos(10_000));
+        long nested = UpstreamDeadline.within(soon, () -> UpstreamDeadline.within(later, UpstreamDeadline::remainingNanos));
+
+        assertTrue(bound <= TimeUnit.SECONDS.toNanos(1));
+        assertTrue(nested <= TimeUnit.SECONDS.toNanos(1));
+        assertEquals(Long.MAX_VALUE, UpstreamDeadline.remainingNanos(), "The deadline ends with the work");
+    }
+
+    @Test
+    void lock_givesUpAtTheDeadline() throws Exception {
+        ReentrantLock lock = new ReentrantLock();
+        Thread holder = Thread.ofPlatform().start(lock::lock);
+        holder.join();
+
+        long start = System.nanoTime();
+        ResourceAccessException e = assertThrows(ResourceAccessException.class, () -> UpstreamDeadline.within(
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100), () -> {
+                    UpstreamDeadline.lock(lock, "rocket snapshot");
+                    return null;
+                }));
+
+        assertTrue(e.getMessage().contains("rocket snapshot"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+    }
+
+    @Test
+    void lock_givesUpWhenInterrupted() throws Exception {
+        ReentrantLock lock = new ReentrantLock();
+        Thread holder = Thread.ofPlatform().start(lock::lock);
+        holder.join();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ResourceAccessException.class, () -> UpstreamDeadline.lock(lock, "launch snapshot"));
+            assertTrue(Thread.currentThread().isInterrupted(), "The interrupt is kept for the caller");
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.example;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamGuardTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SpaceXMetrics metrics = new SpaceXMetrics(registry);
+
+    @Test
+    void circuitOpensAfterConsecutiveFailuresAndFailsFast() {
+        UpstreamGuard guard = new UpstreamGuard(3, 60_000, 10, 100, metrics);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResourceAccessException.class, () -> guard.call("v4/rockets", () -> {
+                calls.incrementAndGet();
+                throw new ResourceAccessException("timeout");
+            }));
+        }
+        ResourceAccessException rejected = assertThrows(ResourceAccessException.class,
+                () -> guard.call("v4/rockets", calls::incrementAndGet));
+
+        assertEquals(3, calls.get(), "An open circuit must not reach the upstream");
+        assertTrue(rejected.getMessage().contains("circuit is open"));
+        assertEquals(UpstreamGuard.State.OPEN, guard.state());
+        assertEquals(1, registry.get("spacex.upstream.rejected").tag("reason", "circuit_open").counter().count());
+    }
+
+    @Test
+    void halfOpenTrial_closesTheCircuitOnSuccess() throws Exception {
+        UpstreamGuard guard = new UpstreamGuard(1, 50, 10, 100, metrics);
+        assertThrows(ResourceAccessException.class, () -> guard.call("v4/rockets", () -> {
+            throw new ResourceAccessException("timeout");
+        }));
+
+        Thread.sleep(80);
+        assertEquals(UpstreamGuard.State.HALF_OPEN, guard.state());
+        assertEquals("ok", guard.call("v4/rockets", () -> "ok"));
+
+        assertEquals(UpstreamGuard.State.CLOSED, guard.state());
+    }
+
+    @Test
+    void lateSuccess_admittedWhileClosed_doesNotCloseAnOpenCircuit() throws Exception {
+        UpstreamGuard guard = new UpstreamGuard(1, 60_000, 10, 100, metrics);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = executor.submit(() -> guard.call("v4/rockets", () -> {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return "late";
+            }));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            assertThrows(ResourceAccessException.class, () -> guard.call("v4/rockets", () -> {
+                throw new ResourceAccessException("timeout");
+            }));
+            assertEquals(UpstreamGuard.State.OPEN, guard.state());
+
+            release.countDown();
+            assertEquals("late", slow.get(5, TimeUnit.SECONDS));
+
+            assertEquals(UpstreamGuard.State.OPEN, guard.state(), "Only a half-open trial may close the circuit");
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void clientErrors_doNotOpenTheCircuit() {
+        UpstreamGuard guard = new UpstreamGuard(1, 60_000, 10, 100, metrics);
+
+        assertThrows(HttpClientErrorException.class, () -> guard.call("v4/launches/query", () -> {
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        }));
+
+        assertEquals(UpstreamGuard.State.CLOSED, guard.state());
+    }
+
+    @Test
+    void bulkhead_rejectsCallsBeyondTheConcurrencyLimit() throws Exception {
+        UpstreamGuard guard = new UpstreamGuard(5, 60_000, 1, 50, metrics);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> guard.call("v4/launches", () -> {
+                entered.countDown();
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            ResourceAccessException rejected = assertThrows(ResourceAccessException.class,
+                    () -> guard.call("v4/launches", () -> "too many"));
+
+            assertTrue(rejected.getMessage().contains("Too many concurrent"));
+            assertEquals(UpstreamGuard.State.CLOSED, guard.state(), "Bulkhead rejections are not upstream failures");
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}